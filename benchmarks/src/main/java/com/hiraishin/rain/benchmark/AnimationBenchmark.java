@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiraishin.rain.entity.mob.Acid;
+import com.hiraishin.rain.graphics.animation.Step;
+import com.hiraishin.rain.util.ImageLoader;
+import com.hiraishin.rain.util.TimingWheel;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+
+    static {
+        ImageLoader.INSTANCE.setHeadless(true);
+    }
+
+    @Param({ "1", "1000" })
+    private int entities;
+
+    private TimingWheel timingWheel;
+    private long starts[];
+
+    @Setup
+    public void setup() {
+        this.timingWheel = new TimingWheel();
+        this.starts = new long[this.entities];
+
+        for (int i = 0; i < this.entities; i++) {
+            this.starts[i] = -i;
+        }
+    }
+
+    /*
+     * One tick of the shared clock plus resolving the current frame of every animated entity.
+     */
+    @Benchmark
+    public int tick() {
+        this.timingWheel.advance();
+
+        final long now = this.timingWheel.getTick();
+        int hash = 0;
+
+        for (int i = 0; i < this.entities; i++) {
+            final Step step = Acid.ANIMATION.getFrame(now - this.starts[i]);
+            hash += step.row + step.col;
+        }
+
+        return hash;
+    }
+
+}
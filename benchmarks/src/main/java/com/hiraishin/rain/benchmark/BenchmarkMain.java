@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkMain {
+
+    public static void main(String... args) throws CommandLineOptionException, RunnerException {
+        final Options options = new OptionsBuilder().parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class).build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiraishin.rain.entity.Entity;
+import com.hiraishin.rain.entity.item.Energy;
+import com.hiraishin.rain.entity.item.Shield;
+import com.hiraishin.rain.input.Keyboard;
+import com.hiraishin.rain.level.Level;
+import com.hiraishin.rain.util.ImageLoader;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    static {
+        ImageLoader.INSTANCE.setHeadless(true);
+    }
+
+    private Entity first;
+    private Entity second;
+    private double x;
+    private double y;
+
+    @Setup
+    public void setup() {
+        final Level level = new Level(new Keyboard());
+
+        this.first = new Shield(100, 100, level);
+        this.second = new Energy(110, 120, level);
+        this.x = this.second.getCenterX();
+        this.y = this.second.getCenterY();
+    }
+
+    @Benchmark
+    public double getDistance() {
+        return this.first.getDistance(this.x, this.y);
+    }
+
+    @Benchmark
+    public boolean isCollidingAABB() {
+        return this.first.isCollidingAABB(this.second);
+    }
+
+}
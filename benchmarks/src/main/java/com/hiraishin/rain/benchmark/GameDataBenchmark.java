@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiraishin.rain.level.GameData;
+
+/*
+ * Saves and loads play data through a temporary file, the player's own file is never touched.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameDataBenchmark {
+
+    private File file;
+
+    @Setup
+    public void setup() throws IOException {
+        this.file = File.createTempFile("playdata", ".ser");
+
+        GameData.save(this.file);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Benchmark
+    public void load() {
+        GameData.load(this.file);
+    }
+
+    @Benchmark
+    public void save() {
+        GameData.save(this.file);
+    }
+
+}
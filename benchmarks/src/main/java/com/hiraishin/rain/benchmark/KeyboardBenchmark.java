@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiraishin.rain.input.Keyboard;
+
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyboardBenchmark {
+
+    private Keyboard keyboard;
+
+    @Setup
+    public void setup() {
+        this.keyboard = new Keyboard();
+        this.keyboard.handle(new KeyEvent(KeyEvent.KEY_PRESSED, "", "", KeyCode.D, false, false,
+                                          false, false));
+        this.keyboard.handle(new KeyEvent(KeyEvent.KEY_PRESSED, "", "", KeyCode.SPACE, false,
+                                          false, false, false));
+    }
+
+    @Benchmark
+    public boolean isHeld() {
+        return this.keyboard.isHeld(KeyCode.D);
+    }
+
+    @Benchmark
+    public boolean isPressed() {
+        return this.keyboard.isPressed(KeyCode.F);
+    }
+
+    /*
+     * Mirrors the lookups Player and Game perform on every tick.
+     */
+    @Benchmark
+    public int tickLookups() {
+        int held = 0;
+
+        held += this.keyboard.isHeld(KeyCode.A) ? 1 : 0;
+        held += this.keyboard.isHeld(KeyCode.D) ? 1 : 0;
+        held += this.keyboard.isHeld(KeyCode.SPACE) ? 1 : 0;
+        held += this.keyboard.isPressed(KeyCode.F) ? 1 : 0;
+        held += this.keyboard.isPressed(KeyCode.ESCAPE) ? 1 : 0;
+
+        return held;
+    }
+
+    @Benchmark
+    public void update() {
+        this.keyboard.update();
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiraishin.rain.entity.mob.Acid;
+import com.hiraishin.rain.graphics.BatchingRenderer;
+import com.hiraishin.rain.graphics.PixelLayer;
+import com.hiraishin.rain.graphics.RecordingRenderer;
+import com.hiraishin.rain.input.Keyboard;
+import com.hiraishin.rain.level.GameData;
+import com.hiraishin.rain.level.Level;
+import com.hiraishin.rain.level.Level.LevelController;
+import com.hiraishin.rain.util.Commons;
+import com.hiraishin.rain.util.ImageLoader;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+    static {
+        ImageLoader.INSTANCE.setHeadless(true);
+    }
+
+    @Param({ "100", "1000", "10000" })
+    public int entityCount;
+
+    private Level level;
+    private LevelController controller;
+    private RecordingRenderer renderer;
+    private RecordingRenderer batchedTarget;
+    private BatchingRenderer batchingRenderer;
+    private PixelLayer rainLayer;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void setup() {
+        GameData.PLAYER_HEALTH.setValue(GameData.PLAYER_HEALTH.getMax());
+
+        this.level = new Level(new Keyboard());
+        this.level.setPersistent(false);
+        this.controller = this.level.getLevelController();
+        this.renderer = new RecordingRenderer();
+        this.batchedTarget = new RecordingRenderer();
+        this.batchingRenderer = new BatchingRenderer(this.batchedTarget);
+        this.rainLayer = new PixelLayer((int) Commons.SCENE_WIDTH, (int) Commons.SCENE_HEIGHT);
+
+        this.controller.startGame();
+        populate();
+    }
+
+    /*
+     * Every tenth entity is a hovering acid, the rest are static rain drops, both placed well
+     * above the player so they stay alive for the whole iteration.
+     */
+    private void populate() {
+        for (int i = 0; i < this.entityCount; i++) {
+            final double x = (i * 7) % Commons.SCENE_WIDTH;
+            final double y = 50 + (i * 13) % 300;
+
+            if (i % 10 == 0) {
+                this.level.add(new Acid(x, y, 0, 0, this.level));
+            } else {
+                this.level.getRainParticles().spawn(x, y, 20, 0, 0);
+            }
+        }
+    }
+
+    @Benchmark
+    public long draw() {
+        this.controller.draw(this.renderer, 0.5);
+        return this.renderer.getCommandCount();
+    }
+
+    @Benchmark
+    public long drawBatched() {
+        this.controller.draw(this.batchingRenderer, 0.5);
+        this.batchingRenderer.flush();
+        return this.batchedTarget.getCommandCount();
+    }
+
+    @Benchmark
+    public PixelLayer rasterizeRain() {
+        this.rainLayer.clear();
+        this.level.getRainParticles().rasterize(this.rainLayer, 0.5);
+        return this.rainLayer;
+    }
+
+    @Benchmark
+    public void tick() {
+        this.controller.tick();
+
+        if (this.controller.isClosed()) {
+            this.controller.startGame();
+            populate();
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiraishin.rain.level.player.PlayerProperties;
+import com.hiraishin.rain.util.TimingWheel;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerPropertiesBenchmark {
+
+    private TimingWheel timingWheel;
+    private PlayerProperties properties;
+
+    @Setup
+    public void setup() {
+        this.timingWheel = new TimingWheel();
+        this.properties = new PlayerProperties(this.timingWheel);
+    }
+
+    @Benchmark
+    public void tick() {
+        this.timingWheel.advance();
+        this.properties.tick();
+    }
+
+}
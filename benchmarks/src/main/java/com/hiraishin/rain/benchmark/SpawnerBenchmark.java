@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiraishin.rain.entity.spawner.RainSpawner;
+import com.hiraishin.rain.entity.spawner.Spawner;
+import com.hiraishin.rain.input.Keyboard;
+import com.hiraishin.rain.level.Level;
+import com.hiraishin.rain.util.Commons;
+import com.hiraishin.rain.util.ImageLoader;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnerBenchmark {
+
+    static {
+        ImageLoader.INSTANCE.setHeadless(true);
+    }
+
+    private static final int PARTICLE_LIMIT = 10_000;
+
+    @Param({ "0", "10" })
+    public int rate;
+
+    private Level level;
+    private Spawner spawner;
+
+    @Setup
+    public void setup() {
+        this.level = new Level(new Keyboard());
+        /* Drops the level's own rain spawner so only the measured one fires. */
+        this.level.getTimingWheel().clear();
+        this.spawner = new RainSpawner(0, -20, Commons.SCENE_WIDTH, 0, this.level, this.rate, 0,
+                                       5);
+    }
+
+    @Benchmark
+    public void tick() {
+        this.level.getTimingWheel().advance();
+
+        if (this.level.getRainParticles().size() > PARTICLE_LIMIT) {
+            this.level.getRainParticles().clear();
+        }
+    }
+
+}
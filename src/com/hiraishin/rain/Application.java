@@ -1,5 +1,9 @@
 package com.hiraishin.rain;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Objects;
 
 import com.hiraishin.rain.event.StateEvent;
@@ -8,8 +12,13 @@ import com.hiraishin.rain.experimental.MenuPane;
 import com.hiraishin.rain.experimental.PausePane;
 import com.hiraishin.rain.experimental.ShopPane;
 import com.hiraishin.rain.experimental.StatPane;
+import com.hiraishin.rain.graphics.TextureAtlas;
 import com.hiraishin.rain.input.Keyboard;
+import com.hiraishin.rain.input.Replay;
+import com.hiraishin.rain.input.ReplayKeyboard;
 import com.hiraishin.rain.level.GameData;
+import com.hiraishin.rain.metrics.MetricsRegistry;
+import com.hiraishin.rain.metrics.MetricsServer;
 import com.hiraishin.rain.util.Commons;
 import com.hiraishin.rain.util.ImageLoader;
 import com.sun.javafx.application.LauncherImpl;
@@ -28,9 +37,29 @@ public class Application extends javafx.application.Application {
     private static final String TITLE_DEBUG_PREFIX = "[DEBUG MODE]";
     private static final String TITLE = "Rain";
 
+    private static final String PROFILE_FILE = "profile.csv";
+
+    private static final int ATLAS_SIZE = 512;
+
     private static final String ARG_DEBUG = "-debug";
+    private static final String ARG_METRICS = "-metrics";
+    private static final String ARG_PARALLEL = "-parallel";
+    private static final String ARG_PIXEL_RAIN = "-pixelrain";
+    private static final String ARG_RECORD = "-record";
+    private static final String ARG_RENDER_SCALE = "-renderscale";
+    private static final String ARG_THREADED = "-threaded";
+    private static final String ARG_REPLAY = "-replay";
+    private static final String ARG_REPLAY_SPEED = "-replayspeed";
 
     public static boolean DEBUG_MODE = false;
+    public static int METRICS_PORT = 0;
+    public static boolean PARALLEL_MODE = false;
+    public static boolean PIXEL_RAIN = false;
+    public static boolean RECORD_MODE = false;
+    public static double RENDER_SCALE = 1;
+    public static String REPLAY_FILE = null;
+    public static int REPLAY_SPEED = 1;
+    public static boolean THREADED_MODE = false;
 
     private Scene scene;
     private Group root;
@@ -39,6 +68,7 @@ public class Application extends javafx.application.Application {
     private Keyboard keyboard;
 
     private Game game;
+    private MetricsServer metricsServer;
 
     private Pane paneMenu;
     private Pane paneShop;
@@ -50,6 +80,22 @@ public class Application extends javafx.application.Application {
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals(ARG_DEBUG)) {
                 DEBUG_MODE = true;
+            } else if (args[i].equals(ARG_METRICS) && i + 1 < args.length) {
+                METRICS_PORT = Integer.parseInt(args[++i]);
+            } else if (args[i].equals(ARG_PARALLEL)) {
+                PARALLEL_MODE = true;
+            } else if (args[i].equals(ARG_PIXEL_RAIN)) {
+                PIXEL_RAIN = true;
+            } else if (args[i].equals(ARG_RECORD)) {
+                RECORD_MODE = true;
+            } else if (args[i].equals(ARG_RENDER_SCALE) && i + 1 < args.length) {
+                RENDER_SCALE = Math.max(0.5, Math.min(2, Double.parseDouble(args[++i])));
+            } else if (args[i].equals(ARG_THREADED)) {
+                THREADED_MODE = true;
+            } else if (args[i].equals(ARG_REPLAY) && i + 1 < args.length) {
+                REPLAY_FILE = args[++i];
+            } else if (args[i].equals(ARG_REPLAY_SPEED) && i + 1 < args.length) {
+                REPLAY_SPEED = Math.max(1, Integer.parseInt(args[++i]));
             }
         }
 
@@ -72,7 +118,8 @@ public class Application extends javafx.application.Application {
         ImageLoader.INSTANCE.setCommonSuffix(".png");
         ImageLoader.INSTANCE.preferExternalSources(true);
 
-        ImageLoader.INSTANCE.load("background/background");
+        ImageLoader.INSTANCE.load("background/background", (int) Commons.SCENE_WIDTH,
+                                  (int) Commons.SCENE_HEIGHT, false, true);
         ImageLoader.INSTANCE.load("entity/acid");
         ImageLoader.INSTANCE.load("entity/armor");
         ImageLoader.INSTANCE.load("entity/energy");
@@ -90,6 +137,8 @@ public class Application extends javafx.application.Application {
         ImageLoader.INSTANCE.load("gui/icons/frame");
         ImageLoader.INSTANCE.load("gui/icons/health");
 
+        TextureAtlas.INSTANCE.pack(ATLAS_SIZE, "entity/player");
+
         this.paneMenu = new MenuPane();
         this.paneShop = new ShopPane();
         this.paneStat = new StatPane();
@@ -97,10 +146,17 @@ public class Application extends javafx.application.Application {
         this.panePause = new PausePane();
 
         this.keyboard = new Keyboard();
+        if (Objects.nonNull(REPLAY_FILE)) {
+            try {
+                this.keyboard = new ReplayKeyboard(Replay.load(new File(REPLAY_FILE)));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
         this.game = new Game(this.keyboard);
 
         this.group = new Group();
-        this.root = new Group(this.game.getCanvas(), this.group);
+        this.root = new Group(this.game.getView(), this.group);
     }
 
     @Override
@@ -131,10 +187,8 @@ public class Application extends javafx.application.Application {
                 switchPane(this.group, this.paneHelp);
             } else if (eventType == StateEvent.PAUSE) {
                 switchPane(this.group, this.panePause);
-                this.game.pause();
             } else if (eventType == StateEvent.UNPAUSE) {
                 switchPane(this.group, null);
-                this.game.unpause();
             } else if (eventType == StateEvent.STOP) {
                 switchPane(this.group, this.paneMenu);
                 this.game.close();
@@ -148,6 +202,31 @@ public class Application extends javafx.application.Application {
         stage.show();
 
         stage.fireEvent(new StateEvent(StateEvent.MENU));
+
+        if (METRICS_PORT > 0) {
+            try {
+                this.metricsServer = new MetricsServer(MetricsRegistry.INSTANCE, METRICS_PORT);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.game.exit();
+
+        if (Objects.nonNull(this.metricsServer)) {
+            this.metricsServer.close();
+        }
+
+        if (DEBUG_MODE) {
+            try (Writer writer = new FileWriter(PROFILE_FILE)) {
+                this.game.getProfiler().writeCsv(writer);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
     }
 
 }
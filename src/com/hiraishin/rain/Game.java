@@ -1,80 +1,508 @@
 package com.hiraishin.rain;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
 import com.hiraishin.rain.event.StateEvent;
+import com.hiraishin.rain.graphics.BatchingRenderer;
+import com.hiraishin.rain.graphics.Drawable;
+import com.hiraishin.rain.graphics.Layer;
+import com.hiraishin.rain.graphics.LayeredRenderer;
+import com.hiraishin.rain.graphics.RenderSnapshot;
+import com.hiraishin.rain.graphics.TextureAtlas;
 import com.hiraishin.rain.input.Keyboard;
+import com.hiraishin.rain.input.ReplayKeyboard;
+import com.hiraishin.rain.input.ReplayRecorder;
+import com.hiraishin.rain.jfr.FrameEvent;
+import com.hiraishin.rain.level.EntityRegistry;
+import com.hiraishin.rain.level.FrameProfiler;
+import com.hiraishin.rain.level.FrameProfiler.Phase;
+import com.hiraishin.rain.level.GameData;
 import com.hiraishin.rain.level.Level;
 import com.hiraishin.rain.level.Level.LevelController;
+import com.hiraishin.rain.level.Quality;
+import com.hiraishin.rain.level.QualityGovernor;
+import com.hiraishin.rain.level.Timescale;
+import com.hiraishin.rain.metrics.MetricsRegistry;
 import com.hiraishin.rain.util.Commons;
-import com.hiraishin.rain.util.FrameCounter;
+import com.hiraishin.rain.util.FramePacingAnalyzer;
+import com.hiraishin.rain.util.ImageLoader;
+import com.hiraishin.rain.util.TripleBuffer;
 
 import javafx.animation.AnimationTimer;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
+import javafx.application.Platform;
+import javafx.event.EventType;
+import javafx.scene.Node;
 import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
 
 public class Game {
 
-    private final Canvas canvas = new Canvas(Commons.SCENE_WIDTH, Commons.SCENE_HEIGHT);
-    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+    private static final long DEBUG_REDRAW_INTERVAL = 250_000_000;
+
+    private final LayeredRenderer layers = new LayeredRenderer(Commons.SCENE_WIDTH,
+                                                               Commons.SCENE_HEIGHT,
+                                                               Application.RENDER_SCALE);
+    private final BatchingRenderer renderer = new BatchingRenderer(this.layers);
 
-    private final FrameCounter frameCounter = new FrameCounter();
+    private final FramePacingAnalyzer framePacing = new FramePacingAnalyzer();
+    private final QualityGovernor qualityGovernor = new QualityGovernor();
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicLong flushNanos = new AtomicLong(-1);
 
+    private final Keyboard keyboard;
+    private final ReplayKeyboard replayKeyboard;
+    private final Level level;
     private final LevelController levelController;
+    private final int speed;
+    private final TripleBuffer<RenderSnapshot> snapshots;
+    private final Thread simulation;
+
+    private ReplayRecorder recorder;
+    private int savedGameData[];
+    private long lastFrameTime = 0;
+    private long accumulator = 0;
+    private volatile boolean running = true;
+    private volatile long lastTickNanos = 0;
+
+    /* Frame statistics of the FX thread copied for the metrics sampler on the simulation thread */
+    private volatile long frameTickNanos = 0;
+    private volatile long frameDrawNanos = 0;
+    private volatile long frameInterval = 0;
+    private volatile long droppedFrames = 0;
 
     public Game(Keyboard keyboard) {
-        this.levelController = new Level(keyboard).getLevelController();
+        this.keyboard = keyboard;
+        this.replayKeyboard = (keyboard instanceof ReplayKeyboard) ? (ReplayKeyboard) keyboard :
+                null;
+        this.speed = Objects.nonNull(this.replayKeyboard) ? Application.REPLAY_SPEED : 1;
+
+        this.level = new Level(keyboard);
+        this.level.setParallel(Application.PARALLEL_MODE);
+        this.level.setPersistent(Objects.isNull(this.replayKeyboard));
+
+        /* Pixel rain uploads its image while drawing, which has to stay on the FX thread */
+        this.level.setPixelRain(Application.PIXEL_RAIN && !Application.THREADED_MODE);
+
+        this.levelController = this.level.getLevelController();
+
+        this.layers.setRedrawInterval(Layer.BACKGROUND, LayeredRenderer.ON_INVALIDATE);
+        this.layers.setRedrawInterval(Layer.HUD, LayeredRenderer.ON_INVALIDATE);
+        this.layers.setRedrawInterval(Layer.DEBUG, DEBUG_REDRAW_INTERVAL);
+
+        registerMetrics();
+
+        if (Application.THREADED_MODE) {
+            this.keyboard.setDeferred(true);
+
+            this.snapshots = new TripleBuffer<>(RenderSnapshot::new);
+            this.simulation = new Thread(this::simulate, "rain-simulation");
+            this.simulation.setDaemon(true);
+            this.simulation.start();
+        } else {
+            this.snapshots = null;
+            this.simulation = null;
+        }
 
         new AnimationTimer() {
 
             @Override
             public void handle(long now) {
-                levelController.update(gc);
+                framePacing.sample(now);
 
-                if (levelController.isClosed()) {
-                    canvas.fireEvent(new StateEvent(StateEvent.MENU));
+                if (Objects.nonNull(snapshots)) {
+                    present(now);
+                } else {
+                    update(now);
                 }
 
-                if (keyboard.isPressed(KeyCode.ESCAPE)) {
-                    if (levelController.isRunning()) {
-                        if (levelController.isPaused()) {
-                            canvas.fireEvent(new StateEvent(StateEvent.UNPAUSE));
-                        } else {
-                            canvas.fireEvent(new StateEvent(StateEvent.PAUSE));
-                        }
-                    } else {
-                        canvas.fireEvent(new StateEvent(StateEvent.MENU));
-                    }
+                if (Objects.isNull(snapshots)) {
+                    MetricsRegistry.INSTANCE.sample();
                 }
+            }
+        }.start();
+    }
+
+    /*
+     * Runs the action on the thread that owns the level.
+     */
+    private void control(Runnable action) {
+        if (Objects.nonNull(this.simulation)) {
+            this.mailbox.offer(action);
+        } else {
+            action.run();
+        }
+    }
+
+    private void drawDebug() {
+        this.renderer.setLayer(Layer.DEBUG);
+        this.renderer.fillText("FPS\t\t: " + (int) this.framePacing.getAverageFPS(), 20, 590);
+        this.renderer.fillText("Frame p50/p99\t: " + this.framePacing.getPercentile(50) / 1000 +
+                " / " + this.framePacing.getPercentile(99) / 1000 + " us", 20, 605);
+        this.renderer.fillText("Jitter\t\t: " + this.framePacing.getJitter() / 1000 + " us", 20,
+                               620);
+        this.renderer.fillText("Missed/Dropped\t: " + this.framePacing.getMissedVsyncs() + " / " +
+                this.framePacing.getDroppedFrames(), 20, 635);
+        this.renderer.fillText("Longest hitch\t: " + this.framePacing.getLongestHitch() / 1000 +
+                " us", 20, 650);
+        this.renderer.fillText("Tick/Draw\t: " + this.qualityGovernor.getLastTickNanos() / 1000 +
+                " / " + this.qualityGovernor.getLastDrawNanos() / 1000 + " us", 20, 665);
+    }
+
+    /*
+     * Draws the scene and the game's own HUD and debug text into the layers and flushes them.
+     */
+    private void render(long now, Drawable scene, double alpha) {
+        this.layers.begin(now);
+        scene.draw(this.renderer, alpha);
+
+        this.renderer.setLayer(Layer.HUD);
+        if (this.renderer.isDue(Layer.HUD)) {
+            this.renderer.setFill(Color.WHITE);
+            this.renderer.fillText("Quality " + this.qualityGovernor.getQuality(),
+                                   Commons.SCENE_WIDTH - 100, 680);
+        }
+
+        if (Application.DEBUG_MODE && this.renderer.isDue(Layer.DEBUG)) {
+            drawDebug();
+        }
+
+        final long flushStart = System.nanoTime();
+
+        this.renderer.flush();
+        recordFlush(System.nanoTime() - flushStart);
+
+        this.layers.end();
+    }
+
+    /*
+     * The profiler belongs to the thread ticking the level, a threaded flush hands its time over
+     * to be recorded after the next tick.
+     */
+    private void recordFlush(long nanos) {
+        if (Objects.nonNull(this.simulation)) {
+            this.flushNanos.set(nanos);
+        } else {
+            this.level.getProfiler().record(Phase.FLUSH, nanos);
+        }
+    }
+
+    /*
+     * Fixed timestep: at most MAX_TICKS_PER_FRAME ticks are caught up per pulse, the rest of a
+     * stall is dropped and the level is drawn interpolated by the leftover fraction of a tick.
+     */
+    private void update(long now) {
+        final FrameEvent event = new FrameEvent();
+        final long start = System.nanoTime();
+
+        event.begin();
+
+        if (this.lastFrameTime > 0) {
+            this.accumulator += (now - this.lastFrameTime) * this.speed;
+        } else {
+            this.accumulator = Timescale.NANOS_PER_TICK;
+        }
+
+        this.lastFrameTime = now;
+
+        int ticks = 0;
+        while (this.accumulator >= Timescale.NANOS_PER_TICK) {
+            if (ticks++ >= Timescale.MAX_TICKS_PER_FRAME * this.speed) {
+                this.accumulator %= Timescale.NANOS_PER_TICK;
+                break;
+            }
+
+            this.accumulator -= Timescale.NANOS_PER_TICK;
+            tick();
+        }
+
+        final long ticked = System.nanoTime();
+
+        render(now, this.levelController::draw,
+               (double) this.accumulator / Timescale.NANOS_PER_TICK);
+
+        endFrame(event, ticks, ticked - start, System.nanoTime() - ticked);
+    }
+
+    /*
+     * Threaded pulse only renders the latest snapshot published by the simulation thread, when
+     * there is none the layers keep showing the previous one.
+     */
+    private void present(long now) {
+        final FrameEvent event = new FrameEvent();
+        final long start = System.nanoTime();
 
-                keyboard.update();
+        event.begin();
 
-                frameCounter.sample(now);
-                if (Application.DEBUG_MODE) {
-                    gc.setFill(Color.WHITE);
-                    gc.fillText("" + frameCounter.getAverageFPS(), 20, 680);
+        final RenderSnapshot snapshot = this.snapshots.acquire();
+        if (Objects.nonNull(snapshot)) {
+            for (Layer layer : Layer.values()) {
+                if (snapshot.isInvalidated(layer)) {
+                    this.layers.invalidate(layer);
                 }
             }
-        }.start();
+
+            render(now, (renderer, alpha) -> snapshot.replay(renderer), 1);
+        }
+
+        endFrame(event, 0, this.lastTickNanos, System.nanoTime() - start);
     }
 
-    public Canvas getCanvas() {
-        return canvas;
+    private void endFrame(FrameEvent event, int ticks, long tickNanos, long drawNanos) {
+        this.frameTickNanos = tickNanos;
+        this.frameDrawNanos = drawNanos;
+        this.frameInterval = this.framePacing.getLastInterval();
+        this.droppedFrames = this.framePacing.getDroppedFrames();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.ticks = ticks;
+            event.tickDuration = tickNanos;
+            event.drawDuration = drawNanos;
+            event.commit();
+        }
+
+        if (this.qualityGovernor.sample(tickNanos, drawNanos,
+                                        this.framePacing.isLastFrameMissed())) {
+            final Quality quality = this.qualityGovernor.getQuality();
+
+            control(() -> this.level.setQuality(quality));
+            this.layers.invalidate(Layer.HUD);
+        }
+    }
+
+    /*
+     * Simulation thread ticks at the fixed rate and publishes a snapshot of the level after every
+     * tick. A stall of more than MAX_TICKS_PER_FRAME ticks is dropped instead of caught up.
+     */
+    private void simulate() {
+        final long interval = Timescale.NANOS_PER_TICK / this.speed;
+
+        long deadline = System.nanoTime();
+        boolean dropped = false;
+
+        while (this.running) {
+            final long start = System.nanoTime();
+
+            runMailbox();
+            tick();
+
+            final RenderSnapshot snapshot = this.snapshots.getBack();
+
+            snapshot.clear(dropped ? snapshot.getInvalidated() : 0);
+            this.levelController.draw(snapshot, 1);
+            dropped = this.snapshots.publish();
+
+            final long flush = this.flushNanos.getAndSet(-1);
+            if (flush >= 0) {
+                this.level.getProfiler().record(Phase.FLUSH, flush);
+            }
+
+            final long now = System.nanoTime();
+
+            this.lastTickNanos = now - start;
+
+            MetricsRegistry.INSTANCE.sample();
+
+            deadline += interval;
+            if (now - deadline > Timescale.MAX_TICKS_PER_FRAME * interval) {
+                deadline = now;
+            } else if (deadline > now) {
+                LockSupport.parkNanos(deadline - now);
+            }
+        }
+
+        runMailbox();
+    }
+
+    private void runMailbox() {
+        Runnable action;
+        while (Objects.nonNull(action = this.mailbox.poll())) {
+            action.run();
+        }
+    }
+
+    private void fire(EventType<StateEvent> eventType) {
+        if (Objects.nonNull(this.simulation)) {
+            Platform.runLater(() -> getView().fireEvent(new StateEvent(eventType)));
+        } else {
+            getView().fireEvent(new StateEvent(eventType));
+        }
+    }
+
+    private void tick() {
+        this.keyboard.drain();
+
+        /* Runs ended from the pause menu or by closing the game are not in the key stream */
+        if (Objects.nonNull(this.replayKeyboard) && this.replayKeyboard.isFinished() &&
+                this.levelController.isRunning()) {
+            this.levelController.endGame();
+            restoreGameData();
+            fire(StateEvent.MENU);
+        }
+
+        if (this.levelController.isRunning()) {
+            if (Objects.nonNull(this.replayKeyboard)) {
+                this.replayKeyboard.advance();
+            }
+
+            if (Objects.nonNull(this.recorder)) {
+                this.recorder.record();
+            }
+        }
+
+        this.levelController.tick();
+
+        if (this.levelController.isClosed()) {
+            stopRecording();
+            restoreGameData();
+            fire(StateEvent.MENU);
+        }
+
+        /* Pausing is applied in the tick that sees the key so records and replays stay in step */
+        if (this.keyboard.isPressed(KeyCode.ESCAPE)) {
+            if (this.levelController.isRunning()) {
+                if (this.levelController.isPaused()) {
+                    this.levelController.unpauseGame();
+                    fire(StateEvent.UNPAUSE);
+                } else {
+                    this.levelController.pauseGame();
+                    fire(StateEvent.PAUSE);
+                }
+            } else {
+                fire(StateEvent.MENU);
+            }
+        }
+
+        this.keyboard.update();
+    }
+
+    public Node getView() {
+        return this.layers.getView();
+    }
+
+    public FramePacingAnalyzer getFramePacing() {
+        return this.framePacing;
+    }
+
+    public FrameProfiler getProfiler() {
+        return this.level.getProfiler();
     }
 
     public void close() {
-        this.levelController.endGame();
+        control(() -> {
+            this.levelController.endGame();
+            stopRecording();
+            restoreGameData();
+        });
     }
 
-    public void pause() {
-        this.levelController.pauseGame();
+    /*
+     * Closes the game and waits for the simulation thread to finish.
+     */
+    public void exit() {
+        close();
+
+        if (Objects.nonNull(this.simulation)) {
+            this.running = false;
+            LockSupport.unpark(this.simulation);
+
+            try {
+                this.simulation.join();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void registerMetrics() {
+        final MetricsRegistry registry = MetricsRegistry.INSTANCE;
+        final EntityRegistry entities = this.level.getEntities();
+
+        registry.gauge("rain_acids", "Live acids", () -> entities.getAcids().size());
+        registry.gauge("rain_energies", "Live energy nodes", entities::getEnergyCount);
+        registry.gauge("rain_shields", "Live shields", entities::getShieldCount);
+        registry.gauge("rain_stars", "Live stars", entities::getStarCount);
+        registry.gauge("rain_shock_particles", "Live shock particles",
+                       entities::getParticleCount);
+        registry.gauge("rain_spawners", "Run spawners", entities::getSpawnerCount);
+        registry.gauge("rain_rain_particles", "Live rain particles",
+                       this.level.getRainParticles()::size);
+        registry.gauge("rain_acid_particles", "Live acid particles",
+                       this.level.getAcidParticles()::size);
+
+        registry.gauge("rain_tick_nanos", "Time the last frame spent ticking",
+                       () -> this.frameTickNanos);
+        registry.gauge("rain_draw_nanos", "Time the last frame spent drawing",
+                       () -> this.frameDrawNanos);
+        registry.gauge("rain_frame_interval_nanos", "Interval between the last two pulses",
+                       () -> this.frameInterval);
+        registry.gauge("rain_dropped_frames", "Frames dropped since start",
+                       () -> this.droppedFrames);
+        registry.gauge("rain_quality", "Quality level, 0 is the lowest",
+                       () -> this.level.getQuality().ordinal());
+
+        registry.gauge("rain_image_cache_size", "Images held by the image loader",
+                       ImageLoader.INSTANCE::getCacheSize);
+        registry.gauge("rain_atlas_pages", "Pages the loaded images were packed into",
+                       TextureAtlas.INSTANCE::getPageCount);
+
+        for (GameData data : GameData.values()) {
+            registry.gauge("rain_gamedata_" + data.name().toLowerCase(), data.getName(),
+                           data::getValue);
+        }
     }
 
     public void play() {
+        control(this::start);
+    }
+
+    /*
+     * Puts back the player's own game data once a replay that overwrote it ends.
+     */
+    private void restoreGameData() {
+        if (Objects.nonNull(this.savedGameData)) {
+            GameData.setValues(this.savedGameData);
+            this.savedGameData = null;
+        }
+    }
+
+    private void start() {
+        if (Objects.nonNull(this.replayKeyboard)) {
+            if (Objects.isNull(this.savedGameData)) {
+                this.savedGameData = GameData.getValues();
+            }
+
+            this.replayKeyboard.rewind();
+            this.replayKeyboard.getReplay().applyGameData();
+            this.level.setSeed(this.replayKeyboard.getReplay().getSeed());
+        }
+
         this.levelController.startGame();
+
+        if (Application.RECORD_MODE) {
+            stopRecording();
+
+            final long seed = this.level.getSeed();
+
+            try {
+                this.recorder = new ReplayRecorder(new File("replay-" + Long.toHexString(seed) +
+                        ".rpl"), seed, this.keyboard);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
     }
 
-    public void unpause() {
-        this.levelController.unpauseGame();
+    private void stopRecording() {
+        if (Objects.nonNull(this.recorder)) {
+            this.recorder.close();
+            this.recorder = null;
+        }
     }
 }
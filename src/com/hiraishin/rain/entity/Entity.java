@@ -5,22 +5,21 @@
 package com.hiraishin.rain.entity;
 
 import java.util.Objects;
-import java.util.Random;
 
 import com.hiraishin.rain.Application;
 import com.hiraishin.rain.graphics.Drawable;
+import com.hiraishin.rain.graphics.Renderer;
 import com.hiraishin.rain.graphics.Sprite;
+import com.hiraishin.rain.graphics.animation.AnimationClip;
 import com.hiraishin.rain.level.Level;
 
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 public abstract class Entity implements Drawable {
 
-    protected static final Random RANDOM = new Random();
-
     protected final Level level;
     protected final Sprite sprite;
+    protected final AnimationClip animation;
     protected final double width;
     protected final double height;
     protected final double spriteXOffset;
@@ -30,21 +29,40 @@ public abstract class Entity implements Drawable {
     protected double y;
     protected double dx;
     protected double dy;
+    protected double previousX;
+    protected double previousY;
     protected boolean dead;
+    protected boolean mirrored;
+
+    private long animationStart;
+    private boolean animating;
 
     protected Entity(double x, double y, double width, double height, Level level) {
-        this(x, y, width, height, null, 0, 0, level);
+        this(x, y, width, height, null, null, 0, 0, level);
     }
 
     protected Entity(double x, double y, double width, double height, Sprite sprite, double offsetX,
                      double offsetY, Level level) {
+        this(x, y, width, height, sprite, null, offsetX, offsetY, level);
+    }
+
+    protected Entity(double x, double y, double width, double height, AnimationClip animation,
+                     double offsetX, double offsetY, Level level) {
+        this(x, y, width, height, null, animation, offsetX, offsetY, level);
+    }
+
+    private Entity(double x, double y, double width, double height, Sprite sprite,
+                   AnimationClip animation, double offsetX, double offsetY, Level level) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
 
         this.width = width;
         this.height = height;
 
         this.sprite = sprite;
+        this.animation = animation;
         this.spriteXOffset = offsetX;
         this.spriteYOffset = offsetY;
 
@@ -52,21 +70,33 @@ public abstract class Entity implements Drawable {
     }
 
     @Override
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer renderer, double alpha) {
         if (Objects.nonNull(this.sprite)) {
-            this.sprite.draw(gc, this.x + this.spriteXOffset, this.y + this.spriteYOffset);
+            this.sprite.draw(renderer, getInterpolatedX(alpha) + this.spriteXOffset,
+                             getInterpolatedY(alpha) + this.spriteYOffset);
+        } else if (Objects.nonNull(this.animation)) {
+            this.animation.draw(renderer, this.animating ?
+                    this.level.getTimingWheel().getTick() - this.animationStart : -1,
+                                getInterpolatedX(alpha) + this.spriteXOffset,
+                                getInterpolatedY(alpha) + this.spriteYOffset, this.mirrored);
         }
 
-        if (Application.DEBUG_MODE) {
-            gc.setStroke(Color.WHITE);
-            gc.strokeRect(this.x, this.y, this.width, this.height);
+        if (Application.DEBUG_MODE && this.level.getQuality().hasDebugDrawing()) {
+            renderer.setStroke(Color.WHITE);
+            renderer.strokeRect(this.x, this.y, this.width, this.height);
 
-            gc.setFill(Color.WHITE);
-            gc.fillText(this.getClass().getSimpleName() + "\n[" + this.x + " " + this.y + "]\n" +
-                    this.dx + " " + this.dy, this.x + this.width, this.y);
+            renderer.setFill(Color.WHITE);
+            renderer.fillText(this.getClass().getSimpleName() + "\n[" + this.x + " " + this.y +
+                    "]\n" + this.dx + " " + this.dy, this.x + this.width, this.y);
         }
     }
 
+    /*
+     * Releases anything the entity keeps scheduled once it is removed, nothing by default.
+     */
+    public void dispose() {
+    }
+
     public final double getCenterX() {
         return this.x + this.width / 2;
     }
@@ -76,7 +106,21 @@ public abstract class Entity implements Drawable {
     }
 
     public final double getDistance(double x, double y) {
-        return Math.sqrt(Math.pow(x - getCenterX(), 2) + Math.pow(y - getCenterY(), 2));
+        return Math.sqrt(getDistanceSquared(x, y));
+    }
+
+    public final double getDistanceSquared(double x, double y) {
+        final double deltaX = x - getCenterX();
+        final double deltaY = y - getCenterY();
+        return deltaX * deltaX + deltaY * deltaY;
+    }
+
+    public final double getInterpolatedX(double alpha) {
+        return this.previousX + (this.x - this.previousX) * alpha;
+    }
+
+    public final double getInterpolatedY(double alpha) {
+        return this.previousY + (this.y - this.previousY) * alpha;
     }
 
     public final double getHeight() {
@@ -95,6 +139,36 @@ public abstract class Entity implements Drawable {
         return this.y;
     }
 
+    /*
+     * Whether the hitbox or the sprite at the interpolated position overlaps the rectangle.
+     */
+    public final boolean isVisible(double alpha, double minX, double minY, double maxX,
+                                   double maxY) {
+        final double x = getInterpolatedX(alpha);
+        final double y = getInterpolatedY(alpha);
+
+        double left = x;
+        double top = y;
+        double right = x + this.width;
+        double bottom = y + this.height;
+
+        if (Objects.nonNull(this.sprite)) {
+            left = Math.min(left, x + this.spriteXOffset);
+            top = Math.min(top, y + this.spriteYOffset);
+            right = Math.max(right, x + this.spriteXOffset + this.sprite.getDrawWidth());
+            bottom = Math.max(bottom, y + this.spriteYOffset + this.sprite.getDrawHeight());
+        } else if (Objects.nonNull(this.animation)) {
+            left = Math.min(left, x + this.spriteXOffset);
+            top = Math.min(top, y + this.spriteYOffset);
+            right = Math.max(right, x + this.spriteXOffset +
+                    this.animation.getSheet().getTileWidth());
+            bottom = Math.max(bottom, y + this.spriteYOffset +
+                    this.animation.getSheet().getTileHeight());
+        }
+
+        return right > minX && left < maxX && bottom > minY && top < maxY;
+    }
+
     public final boolean isCollidingAABB(Entity entity) {
         final boolean a = entity.x + entity.width > this.x;
         final boolean b = this.x + this.width > entity.x;
@@ -111,6 +185,29 @@ public abstract class Entity implements Drawable {
         this.dead = true;
     }
 
+    public void onPlayerCollision() {
+
+    }
+
+    /*
+     * Starts the animation at the current level tick unless it is already playing.
+     */
+    protected final void playAnimation() {
+        if (!this.animating) {
+            this.animating = true;
+            this.animationStart = this.level.getTimingWheel().getTick();
+        }
+    }
+
+    protected final void stopAnimation() {
+        this.animating = false;
+    }
+
+    public final void storePosition() {
+        this.previousX = this.x;
+        this.previousY = this.y;
+    }
+
     public abstract void tick();
 
 }
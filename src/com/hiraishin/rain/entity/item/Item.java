@@ -36,11 +36,12 @@ public abstract class Item extends Entity {
         if (this.y + this.height > Commons.SCENE_GROUND) {
             kill();
         }
+    }
 
-        if (this.level.isCollidingPlayerAABB(this)) {
-            applyEffect();
-            kill();
-        }
+    @Override
+    public final void onPlayerCollision() {
+        applyEffect();
+        kill();
     }
 
     public abstract void applyEffect();
@@ -4,15 +4,15 @@
 
 package com.hiraishin.rain.entity.mob;
 
-import com.hiraishin.rain.entity.particle.AcidParticle;
-import com.hiraishin.rain.graphics.animation.AnimatedSprite;
+import java.util.SplittableRandom;
+
+import com.hiraishin.rain.graphics.TextureAtlas;
+import com.hiraishin.rain.graphics.TextureRegion;
+import com.hiraishin.rain.graphics.animation.AnimationClip;
+import com.hiraishin.rain.graphics.animation.SpriteSheet;
 import com.hiraishin.rain.graphics.animation.Step;
 import com.hiraishin.rain.level.Level;
 import com.hiraishin.rain.util.Commons;
-import com.hiraishin.rain.util.ImageLoader;
-
-import javafx.application.Platform;
-import javafx.scene.image.Image;
 
 public class Acid extends Mob {
 
@@ -20,7 +20,7 @@ public class Acid extends Mob {
     public static final double HEIGHT = 10;
     public static final double SPEED_X_DEFAULT = 0;
     public static final double SPEED_Y_DEFAULT = 10;
-    public static final Image IMAGE = ImageLoader.INSTANCE.getImage("entity/acid");
+    public static final TextureRegion REGION = TextureAtlas.INSTANCE.getRegion("entity/acid");
     public static final int IMAGE_ROWS = 1;
     public static final int IMAGE_COLS = 4;
     public static final double SPRITE_X_OFFSET = -1;
@@ -28,14 +28,21 @@ public class Acid extends Mob {
     public static final int ANIMATION_DELTA = 10;
     public static final Step ANIMATION_STEPS[] = { new Step(0, 0), new Step(0, 1), new Step(0, 2),
             new Step(0, 3), new Step(0, 0) };
+    public static final AnimationClip ANIMATION = new AnimationClip(new SpriteSheet(REGION,
+            IMAGE_ROWS, IMAGE_COLS), ANIMATION_DELTA, ANIMATION_STEPS);
     public static final int PARTICLE_COUNT = 5;
 
+    private final SplittableRandom random;
+
+    /*
+     * Each acid draws from its own stream split off at spawn, so a splash does not depend on
+     * the order acids are ticked in or on how they are chunked for a parallel update.
+     */
     public Acid(double x, double y, double dx, double dy, Level level) {
-        super(x, y, WIDTH, HEIGHT,
-                new AnimatedSprite(IMAGE, IMAGE_ROWS, IMAGE_COLS, ANIMATION_DELTA, ANIMATION_STEPS),
-                SPRITE_X_OFFSET, SPRITE_Y_OFFSET, level);
-        ((AnimatedSprite) this.sprite).play();
+        super(x, y, WIDTH, HEIGHT, ANIMATION, SPRITE_X_OFFSET, SPRITE_Y_OFFSET, level);
+        playAnimation();
 
+        this.random = level.getRandom().split();
         this.dx = dx;
         this.dy = dy;
     }
@@ -55,32 +62,38 @@ public class Acid extends Mob {
             kill();
             spawnParticles(PARTICLE_COUNT, 0);
         }
+    }
 
-        if (this.level.isCollidingPlayerAABB(this)) {
-            this.level.getPlayerProperties().damage();
+    @Override
+    public void onPlayerCollision() {
+        this.level.getPlayerProperties().damage();
 
-            this.y -= this.height;
+        this.y -= this.height;
 
-            if (this.level.getPlayerProperties().getHealth() > 0) {
-                spawnParticles(PARTICLE_COUNT, -1);
-            }
-
-            kill();
+        if (this.level.getPlayerProperties().getHealth() > 0) {
+            spawnParticles(PARTICLE_COUNT, -1);
         }
 
-        ((AnimatedSprite) this.sprite).tick();
+        kill();
     }
 
+    /*
+     * Numbers are drawn for the whole splash even when the quality shows less of it, otherwise
+     * the quality would shift the level's random stream.
+     */
     protected void spawnParticles(int amount, double ySpeed) {
-        Platform.runLater(() -> {
-            for (int i = 0; i < amount; i++) {
-                double particleSize = RANDOM.nextInt(5) + 1;
-                double particleXSpeed = RANDOM.nextInt(5) - 2.5;
-                this.level.add(new AcidParticle(this.x, this.y + this.height - particleSize,
-                                                particleSize, particleSize, particleXSpeed, ySpeed,
-                                                this.level));
+        final SplittableRandom random = this.random;
+        final int visible = Math.min(amount, this.level.getQuality().getSplashCount());
+
+        for (int i = 0; i < amount; i++) {
+            double particleSize = random.nextInt(5) + 1;
+            double particleXSpeed = random.nextInt(5) - 2.5;
+
+            if (i < visible) {
+                this.level.spawnAcidParticle(this.x, this.y + this.height - particleSize,
+                                             particleSize, particleXSpeed, ySpeed);
             }
-        });
+        }
     }
 
 }
@@ -7,14 +7,14 @@ package com.hiraishin.rain.entity.mob;
 import java.util.Objects;
 
 import com.hiraishin.rain.entity.Entity;
-import com.hiraishin.rain.graphics.Sprite;
+import com.hiraishin.rain.graphics.animation.AnimationClip;
 import com.hiraishin.rain.level.Level;
 
 public abstract class Mob extends Entity {
 
-    protected Mob(double x, double y, double width, double height, Sprite sprite, double offsetX,
-                  double offsetY, Level level) {
-        super(x, y, width, height, Objects.requireNonNull(sprite), offsetX, offsetY, level);
+    protected Mob(double x, double y, double width, double height, AnimationClip animation,
+                  double offsetX, double offsetY, Level level) {
+        super(x, y, width, height, Objects.requireNonNull(animation), offsetX, offsetY, level);
     }
 
 }
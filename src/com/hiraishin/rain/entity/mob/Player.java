@@ -6,16 +6,17 @@ package com.hiraishin.rain.entity.mob;
 
 import java.util.Objects;
 
-import com.hiraishin.rain.graphics.animation.AnimatedSprite;
+import com.hiraishin.rain.graphics.TextureAtlas;
+import com.hiraishin.rain.graphics.TextureRegion;
+import com.hiraishin.rain.graphics.animation.AnimationClip;
+import com.hiraishin.rain.graphics.animation.SpriteSheet;
 import com.hiraishin.rain.graphics.animation.Step;
 import com.hiraishin.rain.input.Keyboard;
 import com.hiraishin.rain.level.GameData;
 import com.hiraishin.rain.level.Level;
 import com.hiraishin.rain.level.player.PlayerProperties;
 import com.hiraishin.rain.util.Commons;
-import com.hiraishin.rain.util.ImageLoader;
 
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 
 public class Player extends Mob {
@@ -27,7 +28,9 @@ public class Player extends Mob {
     public static final double SPEED_X_INCREMENT = 0.5;
     public static final double SPEED_X_INCREMENT2 = 0.6;
     public static final double SPEED_Y_INCREMENT = 0.5;
-    public static final Image IMAGE = ImageLoader.INSTANCE.getImage("entity/player");
+    public static final TextureRegion REGION = TextureAtlas.INSTANCE.getRegion("entity/player");
+    public static final TextureRegion MIRRORED_REGION = TextureAtlas.INSTANCE
+            .getMirroredRegion("entity/player");
     public static final int IMAGE_ROWS = 2;
     public static final int IMAGE_COLS = 4;
     public static final double SPRITE_X_OFFSET = -4;
@@ -35,6 +38,8 @@ public class Player extends Mob {
     public static final int ANIMATION_DELTA = 8;
     public static final Step ANIMATION_STEPS[] = { new Step(0, 0), new Step(1, 0), new Step(1, 1),
             new Step(1, 2), new Step(1, 3) };
+    public static final AnimationClip ANIMATION = new AnimationClip(new SpriteSheet(REGION,
+            MIRRORED_REGION, IMAGE_ROWS, IMAGE_COLS), ANIMATION_DELTA, ANIMATION_STEPS);
 
     private final Keyboard keyboard;
     private final double speed;
@@ -42,9 +47,7 @@ public class Player extends Mob {
     private boolean jump = true;
 
     public Player(double x, double y, Level level, Keyboard keyboard, PlayerProperties properties) {
-        super(x, y, WIDTH, HEIGHT,
-                new AnimatedSprite(IMAGE, IMAGE_ROWS, IMAGE_COLS, ANIMATION_DELTA, ANIMATION_STEPS),
-                SPRITE_X_OFFSET, SPRITE_Y_OFFSET, level);
+        super(x, y, WIDTH, HEIGHT, ANIMATION, SPRITE_X_OFFSET, SPRITE_Y_OFFSET, level);
 
         this.keyboard = Objects.requireNonNull(keyboard);
         this.speed = (GameData.UPGRADE_MOVEMENT.getValue() > 0) ? SPEED_X_INCREMENT2 :
@@ -108,13 +111,11 @@ public class Player extends Mob {
         }
 
         if (this.dx != 0) {
-            this.sprite.setScale((this.dx > 0 ? 1 : -1), 1);
-            ((AnimatedSprite) this.sprite).play();
+            this.mirrored = this.dx < 0;
+            playAnimation();
         } else {
-            ((AnimatedSprite) this.sprite).stop();
+            stopAnimation();
         }
-
-        ((AnimatedSprite) this.sprite).tick();
     }
 
 }
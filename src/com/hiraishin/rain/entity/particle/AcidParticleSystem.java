@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.entity.particle;
+
+import com.hiraishin.rain.graphics.Renderer;
+import com.hiraishin.rain.level.Level;
+import com.hiraishin.rain.util.Commons;
+
+import javafx.scene.paint.Color;
+
+public final class AcidParticleSystem extends ParticleSystem {
+
+    public static final double SPEED_X_INCREMENT = 0.2;
+    public static final double SPEED_Y_INCREMENT = 0.5;
+    public static final int TICKS_DESPAWN_MIN = 10;
+    public static final int TICKS_DESPAWN_MAX = 30;
+
+    private static final Color COLORS[] = { Color.GREENYELLOW, Color.LAWNGREEN };
+
+    public AcidParticleSystem(Level level) {
+        super(level);
+    }
+
+    /*
+     * Despawn countdown is stored negated until the particle first touches the ground.
+     */
+    public void spawn(double x, double y, double size, double dx, double dy) {
+        final int i = allocate();
+
+        this.x[i] = x;
+        this.y[i] = y;
+        this.previousX[i] = x;
+        this.previousY[i] = y;
+        this.dx[i] = dx;
+        this.dy[i] = dy;
+        this.size[i] = size;
+        this.ttl[i] = -(TICKS_DESPAWN_MIN +
+                this.random.nextInt(TICKS_DESPAWN_MAX - TICKS_DESPAWN_MIN + 1));
+        this.colorIndex[i] = (byte) (this.random.nextBoolean() ? 0 : 1);
+    }
+
+    /*
+     * Velocity changes after the move (friction, gravity, wall bounces), so positions are
+     * interpolated from the previous tick instead of extrapolated back along the velocity.
+     */
+    @Override
+    public void draw(Renderer renderer, double alpha) {
+        for (int i = 0; i < this.count; i++) {
+            renderer.setFill(COLORS[this.colorIndex[i]]);
+            renderer.fillRect(this.previousX[i] + (this.x[i] - this.previousX[i]) * alpha,
+                              this.previousY[i] + (this.y[i] - this.previousY[i]) * alpha,
+                              this.size[i], this.size[i]);
+        }
+    }
+
+    @Override
+    public void prepare() {
+
+    }
+
+    @Override
+    protected boolean update(int i) {
+        final double size = this.size[i];
+
+        this.previousX[i] = this.x[i];
+        this.previousY[i] = this.y[i];
+
+        this.x[i] += this.dx[i];
+        this.y[i] += this.dy[i];
+
+        if (this.dx[i] > 0) {
+            this.dx[i] = Math.max(0, this.dx[i] - SPEED_X_INCREMENT);
+        } else if (this.dx[i] < 0) {
+            this.dx[i] = Math.min(0, this.dx[i] + SPEED_X_INCREMENT);
+        }
+
+        if (this.x[i] < 0) {
+            this.x[i] = 0;
+            this.dx[i] *= -1;
+        } else if (this.x[i] + size > Commons.SCENE_WIDTH) {
+            this.x[i] = Commons.SCENE_WIDTH - size;
+            this.dx[i] *= -1;
+        }
+
+        if (this.y[i] + size > Commons.SCENE_GROUND) {
+            this.y[i] = Commons.SCENE_GROUND - size;
+            this.dy[i] = 0;
+
+            if (this.ttl[i] < 0) {
+                this.ttl[i] = -this.ttl[i];
+            }
+        } else {
+            this.dy[i] += SPEED_Y_INCREMENT;
+        }
+
+        return !(this.ttl[i] > 0 && --this.ttl[i] <= 0);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.entity.particle;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import com.hiraishin.rain.graphics.Drawable;
+import com.hiraishin.rain.level.Level;
+
+public abstract class ParticleSystem implements Drawable {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    protected final Level level;
+
+    protected double x[] = new double[INITIAL_CAPACITY];
+    protected double y[] = new double[INITIAL_CAPACITY];
+    protected double dx[] = new double[INITIAL_CAPACITY];
+    protected double dy[] = new double[INITIAL_CAPACITY];
+    protected double previousX[] = new double[INITIAL_CAPACITY];
+    protected double previousY[] = new double[INITIAL_CAPACITY];
+    protected double size[] = new double[INITIAL_CAPACITY];
+    protected int ttl[] = new int[INITIAL_CAPACITY];
+    protected byte colorIndex[] = new byte[INITIAL_CAPACITY];
+    protected int count = 0;
+    protected SplittableRandom random = new SplittableRandom();
+
+    private boolean dead[] = new boolean[INITIAL_CAPACITY];
+
+    protected ParticleSystem(Level level) {
+        this.level = level;
+    }
+
+    protected final int allocate() {
+        if (this.count == this.x.length) {
+            final int capacity = this.x.length << 1;
+
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.dx = Arrays.copyOf(this.dx, capacity);
+            this.dy = Arrays.copyOf(this.dy, capacity);
+            this.previousX = Arrays.copyOf(this.previousX, capacity);
+            this.previousY = Arrays.copyOf(this.previousY, capacity);
+            this.size = Arrays.copyOf(this.size, capacity);
+            this.ttl = Arrays.copyOf(this.ttl, capacity);
+            this.colorIndex = Arrays.copyOf(this.colorIndex, capacity);
+            this.dead = Arrays.copyOf(this.dead, capacity);
+        }
+
+        this.dead[this.count] = false;
+        return this.count++;
+    }
+
+    public final void clear() {
+        this.count = 0;
+    }
+
+    /*
+     * Removes particles marked by tick(int, int), the only part of a parallel tick that has to
+     * run on a single thread.
+     */
+    public final void compact() {
+        for (int i = 0; i < this.count;) {
+            if (this.dead[i]) {
+                remove(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    protected final void remove(int index) {
+        final int last = --this.count;
+
+        if (index != last) {
+            this.x[index] = this.x[last];
+            this.y[index] = this.y[last];
+            this.dx[index] = this.dx[last];
+            this.dy[index] = this.dy[last];
+            this.previousX[index] = this.previousX[last];
+            this.previousY[index] = this.previousY[last];
+            this.size[index] = this.size[last];
+            this.ttl[index] = this.ttl[last];
+            this.colorIndex[index] = this.colorIndex[last];
+            this.dead[index] = this.dead[last];
+        }
+    }
+
+    /*
+     * Particles are cosmetic and draw from their own stream, so how many of them get spawned
+     * never shifts the level's random numbers.
+     */
+    public final void setRandom(SplittableRandom random) {
+        this.random = Objects.requireNonNull(random);
+    }
+
+    public final int size() {
+        return this.count;
+    }
+
+    public final void tick() {
+        prepare();
+
+        for (int i = 0; i < this.count;) {
+            if (update(i)) {
+                i++;
+            } else {
+                remove(i);
+            }
+        }
+    }
+
+    /*
+     * Updates particles in [from, to) and only marks the dead ones, so disjoint ranges can be
+     * ticked concurrently once prepare() has been called.
+     */
+    public final void tick(int from, int to) {
+        for (int i = from; i < to; i++) {
+            this.dead[i] = !update(i);
+        }
+    }
+
+    public abstract void prepare();
+
+    protected abstract boolean update(int index);
+
+}
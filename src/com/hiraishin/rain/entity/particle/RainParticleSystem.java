@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.entity.particle;
+
+import java.util.Objects;
+
+import com.hiraishin.rain.entity.mob.Player;
+import com.hiraishin.rain.graphics.PixelLayer;
+import com.hiraishin.rain.graphics.Renderer;
+import com.hiraishin.rain.level.Level;
+import com.hiraishin.rain.util.Commons;
+
+import javafx.scene.paint.Color;
+
+public final class RainParticleSystem extends ParticleSystem {
+
+    public static final double WIDTH = 1;
+
+    private static final Color COLORS[] = { Color.rgb(100, 149, 237, 0.2),
+            Color.rgb(173, 216, 230, 0.2) };
+    private static final int ARGB_COLORS[] = { PixelLayer.toArgb(COLORS[0]),
+            PixelLayer.toArgb(COLORS[1]) };
+
+    private boolean collide = false;
+    private double playerX;
+    private double playerY;
+    private double playerWidth;
+    private double playerHeight;
+
+    public RainParticleSystem(Level level) {
+        super(level);
+    }
+
+    public void spawn(double x, double y, double height, double dx, double dy) {
+        final int i = allocate();
+
+        this.x[i] = x;
+        this.y[i] = y;
+        this.dx[i] = dx;
+        this.dy[i] = dy;
+        this.size[i] = height;
+        this.colorIndex[i] = (byte) (this.random.nextBoolean() ? 0 : 1);
+    }
+
+    @Override
+    public void draw(Renderer renderer, double alpha) {
+        for (int i = 0; i < this.count; i++) {
+            final double x = this.x[i] - this.dx[i] * (1 - alpha);
+            final double y = this.y[i] - this.dy[i] * (1 - alpha);
+
+            renderer.setFill(COLORS[this.colorIndex[i]]);
+            renderer.fillRect(x, y, WIDTH,
+                              y + this.size[i] > Commons.SCENE_GROUND ? y - Commons.SCENE_GROUND :
+                                      this.size[i]);
+        }
+    }
+
+    /*
+     * Same streaks as draw() written straight into the pixel layer, snapped to whole pixels of
+     * the layer's scale.
+     */
+    public void rasterize(PixelLayer layer, double alpha) {
+        final double scale = layer.getScale();
+        final int columns = Math.max(1, (int) Math.round(WIDTH * scale));
+
+        for (int i = 0; i < this.count; i++) {
+            final double x = this.x[i] - this.dx[i] * (1 - alpha);
+            final double y = this.y[i] - this.dy[i] * (1 - alpha);
+            final double height = y + this.size[i] > Commons.SCENE_GROUND ?
+                    y - Commons.SCENE_GROUND : this.size[i];
+
+            final int px = (int) Math.floor(x * scale);
+            final int y0 = (int) Math.round(y * scale);
+            final int y1 = (int) Math.round((y + height) * scale);
+
+            for (int c = 0; c < columns; c++) {
+                layer.blendColumn(px + c, y0, y1, ARGB_COLORS[this.colorIndex[i]]);
+            }
+        }
+    }
+
+    @Override
+    public void prepare() {
+        final Player player = this.level.getPlayer();
+
+        this.collide = Objects.nonNull(player);
+        if (this.collide) {
+            this.playerX = player.getX();
+            this.playerY = player.getY();
+            this.playerWidth = player.getWidth();
+            this.playerHeight = player.getHeight();
+        }
+    }
+
+    @Override
+    protected boolean update(int i) {
+        final double x = this.x[i] += this.dx[i];
+        final double y = this.y[i] += this.dy[i];
+
+        if (y > Commons.SCENE_GROUND) {
+            return false;
+        }
+
+        return !(this.collide && x + WIDTH > this.playerX && this.playerX + this.playerWidth > x &&
+                y + this.size[i] > this.playerY && this.playerY + this.playerHeight > y);
+    }
+
+}
@@ -4,12 +4,15 @@
 
 package com.hiraishin.rain.entity.particle;
 
+import java.util.function.Consumer;
+
 import com.hiraishin.rain.entity.Entity;
 import com.hiraishin.rain.entity.mob.Acid;
+import com.hiraishin.rain.graphics.Renderer;
 import com.hiraishin.rain.level.Level;
 import com.hiraishin.rain.util.Commons;
+import com.hiraishin.rain.util.WheelTimer;
 
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.ArcType;
 
@@ -17,34 +20,42 @@ public class ShockParticle extends Particle {
 
     public static final double ARC_RADIUS_INCREMENT = 8;
     public static final double ARC_ANGLE = 180;
+    public static final int LIFETIME = (int) (Commons.SCENE_WIDTH / ARC_RADIUS_INCREMENT) + 1;
+
+    private static final Consumer<Entity> SHOCK = E -> {
+        if (E instanceof Acid) {
+            E.kill();
+        }
+    };
+
+    private final WheelTimer lifetime = new WheelTimer(this::kill);
 
     private double radius = 0;
 
     public ShockParticle(double x, double y, double width, double height, Level level) {
         super(x, y, width, height, level);
+
+        level.getTimingWheel().schedule(this.lifetime, LIFETIME);
+    }
+
+    @Override
+    public void dispose() {
+        this.level.getTimingWheel().cancel(this.lifetime);
     }
 
     @Override
-    public void draw(GraphicsContext gc) {
-        gc.setStroke(Color.ALICEBLUE);
-        gc.strokeArc(this.x - this.radius, this.y - this.radius, this.radius * 2, this.radius * 2,
-                     0, ARC_ANGLE, ArcType.OPEN);
+    public void draw(Renderer renderer, double alpha) {
+        final double radius = Math.max(0, this.radius - ARC_RADIUS_INCREMENT * (1 - alpha));
+
+        renderer.setStroke(Color.ALICEBLUE);
+        renderer.strokeArc(this.x - radius, this.y - radius, radius * 2, radius * 2, 0,
+                           ARC_ANGLE, ArcType.OPEN);
     }
 
     @Override
     public void tick() {
         this.radius += ARC_RADIUS_INCREMENT;
-        if (this.radius > Commons.SCENE_WIDTH) {
-            kill();
-        }
-
-        for (Entity m : this.level.getMobs()) {
-            if (m instanceof Acid) {
-                if (m.getDistance(this.x, this.y) <= this.radius) {
-                    m.kill();
-                }
-            }
-        }
+        this.level.getSpatialGrid().forEachInRadius(this.x, this.y, this.radius, SHOCK);
     }
 
 }
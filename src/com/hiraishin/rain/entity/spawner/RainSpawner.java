@@ -4,12 +4,10 @@
 
 package com.hiraishin.rain.entity.spawner;
 
-import com.hiraishin.rain.entity.particle.RainParticle;
 import com.hiraishin.rain.level.Level;
 
 public final class RainSpawner extends Spawner {
 
-    public static final int WIDTH = 1;
     public static final int HEIGHT_MIN = 10;
     public static final int HEIGHT_MAX = 40;
     public static final int SPEED_X = 0;
@@ -23,10 +21,9 @@ public final class RainSpawner extends Spawner {
 
     @Override
     public void spawn() {
-        this.level.add(new RainParticle(getRandomX(), getRandomY(), WIDTH,
-                                        HEIGHT_MIN + RANDOM.nextInt(HEIGHT_MAX - HEIGHT_MIN + 1),
-                                        SPEED_X,
-                                        SPEED_Y_MIN + RANDOM.nextInt(SPEED_Y_MAX - SPEED_Y_MIN + 1),
-                                        this.level));
+        this.level.getRainParticles()
+                .spawn(getRandomX(), getRandomY(),
+                       HEIGHT_MIN + this.random.nextInt(HEIGHT_MAX - HEIGHT_MIN + 1), SPEED_X,
+                       SPEED_Y_MIN + this.random.nextInt(SPEED_Y_MAX - SPEED_Y_MIN + 1));
     }
 }
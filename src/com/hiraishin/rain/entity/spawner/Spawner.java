@@ -5,18 +5,23 @@
 package com.hiraishin.rain.entity.spawner;
 
 import java.util.Objects;
+import java.util.SplittableRandom;
 
 import com.hiraishin.rain.entity.Entity;
+import com.hiraishin.rain.jfr.SpawnEvent;
 import com.hiraishin.rain.level.Level;
+import com.hiraishin.rain.util.WheelTimer;
 
 public abstract class Spawner extends Entity {
 
     protected final int rate;
     protected final int variation;
-    protected final int count;
 
-    protected int frameCount = 0;
+    protected final WheelTimer timer = new WheelTimer(this::fire);
+
+    protected int count;
     protected int frameLimit;
+    protected SplittableRandom random;
 
     protected Spawner(double x, double y, double width, double height, Level level, int rate,
                       int variation, int count) {
@@ -28,30 +33,74 @@ public abstract class Spawner extends Entity {
         this.rate = rate;
 
         this.frameLimit = rate;
+        this.random = Objects.nonNull(level) ? level.getRandom().split() : new SplittableRandom();
+
+        restart();
     }
 
     @Override
-    public final void tick() {
-        if (this.frameCount++ >= this.frameLimit) {
-            this.frameCount = 0;
-            this.frameLimit = this.rate + (this.variation > 1 ? RANDOM.nextInt(this.variation) : 0);
-
-            if (Objects.nonNull(this.level)) {
-                for (int i = 0; i < this.count; i++) {
-                    spawn();
-                }
-            }
+    public final void dispose() {
+        if (Objects.nonNull(this.level)) {
+            this.level.getTimingWheel().cancel(this.timer);
         }
     }
 
+    private void fire() {
+        final SpawnEvent event = new SpawnEvent();
+
+        event.begin();
+
+        this.frameLimit = this.rate +
+                (this.variation > 1 ? this.random.nextInt(this.variation) : 0);
+
+        for (int i = 0; i < this.count; i++) {
+            spawn();
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.spawner = getClass().getSimpleName();
+            event.count = this.count;
+            event.commit();
+        }
+
+        this.level.getTimingWheel().schedule(this.timer, this.frameLimit + 1);
+    }
+
     protected double getRandomX() {
-        return this.x + (this.width == 0 ? 0 : RANDOM.nextInt((int) this.width));
+        return this.x + (this.width == 0 ? 0 : this.random.nextInt((int) this.width));
     }
 
     protected double getRandomY() {
-        return this.y + (this.height == 0 ? 0 : RANDOM.nextInt((int) this.height));
+        return this.y + (this.height == 0 ? 0 : this.random.nextInt((int) this.height));
+    }
+
+    /*
+     * Schedules the next spawn a full period from now, needed once the level's timing wheel has
+     * been cleared.
+     */
+    public final void restart() {
+        if (Objects.nonNull(this.level)) {
+            this.level.getTimingWheel().schedule(this.timer, this.frameLimit + 1);
+        }
+    }
+
+    public final void setCount(int count) {
+        this.count = count;
+    }
+
+    public final void setRandom(SplittableRandom random) {
+        this.random = Objects.requireNonNull(random);
     }
 
     public abstract void spawn();
 
+    /*
+     * Spawners are fired by the level's timing wheel and do nothing on regular ticks.
+     */
+    @Override
+    public final void tick() {
+
+    }
+
 }
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+
+/*
+ * Records a frame of commands and issues them to the target renderer on flush(), ordered by
+ * layer and, inside sorted layers, by command kind and image or paint. Paint changes are only
+ * issued when the paint actually differs and runs of rectangles with the same fill are issued
+ * as one batch.
+ */
+public class BatchingRenderer implements Renderer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int ARGS = 8;
+    private static final int MAX_STATES = 256;
+    private static final Layer LAYERS[] = Layer.values();
+
+    private static final byte IMAGE = 0;
+    private static final byte IMAGE_REGION = 1;
+    private static final byte FILL_RECT = 2;
+    private static final byte FILL_TEXT = 3;
+    private static final byte STROKE_RECT = 4;
+    private static final byte STROKE_ARC = 5;
+    private static final int KINDS = 6;
+
+    private final Renderer target;
+    private final Map<Image, Integer> imageIds = new IdentityHashMap<>();
+    private final Map<Paint, Integer> paintIds = new IdentityHashMap<>();
+
+    private Paint paints[] = new Paint[16];
+    private byte kinds[] = new byte[INITIAL_CAPACITY];
+    private int groups[] = new int[INITIAL_CAPACITY];
+    private int paintIndices[] = new int[INITIAL_CAPACITY];
+    private int order[] = new int[INITIAL_CAPACITY];
+    private int buckets[] = new int[LAYERS.length * KINDS * MAX_STATES + 1];
+    private Object refs[] = new Object[INITIAL_CAPACITY];
+    private double args[] = new double[INITIAL_CAPACITY * ARGS];
+    private double rects[] = new double[INITIAL_CAPACITY * 4];
+    private int size = 0;
+
+    private Layer layer = Layer.BACKGROUND;
+    private Paint lastPaint;
+    private int lastPaintId = -1;
+    private int fill = -1;
+    private int stroke = -1;
+
+    public BatchingRenderer(Renderer target) {
+        this.target = Objects.requireNonNull(target);
+    }
+
+    /*
+     * Commands are grouped by layer, kind and image or paint id. Unsorted layers put every
+     * command in the first group of the layer so the stable sort keeps their submission order.
+     */
+    private int add(byte kind, int state, int paint, Object ref) {
+        if (this.size == this.kinds.length) {
+            final int capacity = this.size << 1;
+
+            this.kinds = Arrays.copyOf(this.kinds, capacity);
+            this.groups = Arrays.copyOf(this.groups, capacity);
+            this.paintIndices = Arrays.copyOf(this.paintIndices, capacity);
+            this.order = Arrays.copyOf(this.order, capacity);
+            this.refs = Arrays.copyOf(this.refs, capacity);
+            this.args = Arrays.copyOf(this.args, capacity * ARGS);
+        }
+
+        final int i = this.size++;
+
+        int group = this.layer.ordinal() * KINDS * MAX_STATES;
+        if (this.layer.isSorted()) {
+            group += kind * MAX_STATES + Math.min(state + 1, MAX_STATES - 1);
+        }
+
+        this.kinds[i] = kind;
+        this.groups[i] = group;
+        this.paintIndices[i] = paint;
+        this.refs[i] = ref;
+
+        return i * ARGS;
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double w, double h) {
+        if (Objects.isNull(image)) {
+            return;
+        }
+
+        final int a = add(IMAGE, toImageId(image), -1, image);
+
+        this.args[a] = x;
+        this.args[a + 1] = y;
+        this.args[a + 2] = w;
+        this.args[a + 3] = h;
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh, double dx,
+                          double dy, double dw, double dh) {
+        if (Objects.isNull(image)) {
+            return;
+        }
+
+        final int a = add(IMAGE_REGION, toImageId(image), -1, image);
+
+        this.args[a] = sx;
+        this.args[a + 1] = sy;
+        this.args[a + 2] = sw;
+        this.args[a + 3] = sh;
+        this.args[a + 4] = dx;
+        this.args[a + 5] = dy;
+        this.args[a + 6] = dw;
+        this.args[a + 7] = dh;
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        final int a = add(FILL_RECT, this.fill, this.fill, null);
+
+        this.args[a] = x;
+        this.args[a + 1] = y;
+        this.args[a + 2] = w;
+        this.args[a + 3] = h;
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        final int a = add(FILL_TEXT, this.fill, this.fill, text);
+
+        this.args[a] = x;
+        this.args[a + 1] = y;
+    }
+
+    /*
+     * Issues every recorded command to the target and starts a new frame.
+     */
+    public void flush() {
+        sort();
+
+        int targetFill = -1;
+        int targetStroke = -1;
+        Layer targetLayer = null;
+
+        for (int k = 0; k < this.size; k++) {
+            final int i = this.order[k];
+            final int a = i * ARGS;
+            final int paint = this.paintIndices[i];
+            final Layer layer = layerOf(i);
+
+            if (layer != targetLayer) {
+                this.target.setLayer(layer);
+                targetLayer = layer;
+                targetFill = -1;
+                targetStroke = -1;
+            }
+
+            switch (this.kinds[i]) {
+            case IMAGE:
+                this.target.drawImage((Image) this.refs[i], this.args[a], this.args[a + 1],
+                                      this.args[a + 2], this.args[a + 3]);
+                break;
+            case IMAGE_REGION:
+                this.target.drawImage((Image) this.refs[i], this.args[a], this.args[a + 1],
+                                      this.args[a + 2], this.args[a + 3], this.args[a + 4],
+                                      this.args[a + 5], this.args[a + 6], this.args[a + 7]);
+                break;
+            case FILL_RECT:
+                if (paint != targetFill && paint >= 0) {
+                    this.target.setFill(this.paints[paint]);
+                    targetFill = paint;
+                }
+
+                k = flushRects(k) - 1;
+                break;
+            case FILL_TEXT:
+                if (paint != targetFill && paint >= 0) {
+                    this.target.setFill(this.paints[paint]);
+                    targetFill = paint;
+                }
+
+                this.target.fillText((String) this.refs[i], this.args[a], this.args[a + 1]);
+                break;
+            case STROKE_RECT:
+                if (paint != targetStroke && paint >= 0) {
+                    this.target.setStroke(this.paints[paint]);
+                    targetStroke = paint;
+                }
+
+                this.target.strokeRect(this.args[a], this.args[a + 1], this.args[a + 2],
+                                       this.args[a + 3]);
+                break;
+            case STROKE_ARC:
+                if (paint != targetStroke && paint >= 0) {
+                    this.target.setStroke(this.paints[paint]);
+                    targetStroke = paint;
+                }
+
+                this.target.strokeArc(this.args[a], this.args[a + 1], this.args[a + 2],
+                                      this.args[a + 3], this.args[a + 4], this.args[a + 5],
+                                      (ArcType) this.refs[i]);
+                break;
+            }
+        }
+
+        Arrays.fill(this.refs, 0, this.size, null);
+        this.size = 0;
+        this.layer = Layer.BACKGROUND;
+
+        if (this.paintIds.size() >= MAX_STATES || this.imageIds.size() >= MAX_STATES) {
+            this.paintIds.clear();
+            this.imageIds.clear();
+            this.lastPaint = null;
+            this.fill = -1;
+            this.stroke = -1;
+        }
+    }
+
+    /*
+     * Issues the run of rectangles starting at sorted position k that share its layer and fill,
+     * returns the position after the run.
+     */
+    private int flushRects(int k) {
+        final Layer layer = layerOf(this.order[k]);
+        final int paint = this.paintIndices[this.order[k]];
+
+        int count = 0;
+        for (; k < this.size; k++) {
+            final int i = this.order[k];
+
+            if (this.kinds[i] != FILL_RECT || this.paintIndices[i] != paint ||
+                    layerOf(i) != layer) {
+                break;
+            }
+
+            if (count * 4 == this.rects.length) {
+                this.rects = Arrays.copyOf(this.rects, this.rects.length << 1);
+            }
+
+            System.arraycopy(this.args, i * ARGS, this.rects, count++ * 4, 4);
+        }
+
+        if (count == 1) {
+            this.target.fillRect(this.rects[0], this.rects[1], this.rects[2], this.rects[3]);
+        } else {
+            this.target.fillRects(this.rects, count);
+        }
+
+        return k;
+    }
+
+    public int getCommandCount() {
+        return this.size;
+    }
+
+    private Layer layerOf(int i) {
+        return LAYERS[this.groups[i] / (KINDS * MAX_STATES)];
+    }
+
+    @Override
+    public void invalidate(Layer layer) {
+        this.target.invalidate(layer);
+    }
+
+    @Override
+    public boolean isDue(Layer layer) {
+        return this.target.isDue(layer);
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        this.fill = toPaintId(paint);
+    }
+
+    @Override
+    public void setLayer(Layer layer) {
+        this.layer = Objects.requireNonNull(layer);
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        this.stroke = toPaintId(paint);
+    }
+
+    /*
+     * Stable counting sort of the recorded commands by group into order.
+     */
+    private void sort() {
+        Arrays.fill(this.buckets, 0);
+
+        for (int i = 0; i < this.size; i++) {
+            this.buckets[this.groups[i] + 1]++;
+        }
+
+        for (int b = 1; b < this.buckets.length; b++) {
+            this.buckets[b] += this.buckets[b - 1];
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            this.order[this.buckets[this.groups[i]]++] = i;
+        }
+    }
+
+    @Override
+    public void strokeArc(double x, double y, double w, double h, double startAngle,
+                          double arcExtent, ArcType closure) {
+        final int a = add(STROKE_ARC, this.stroke, this.stroke, closure);
+
+        this.args[a] = x;
+        this.args[a + 1] = y;
+        this.args[a + 2] = w;
+        this.args[a + 3] = h;
+        this.args[a + 4] = startAngle;
+        this.args[a + 5] = arcExtent;
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double w, double h) {
+        final int a = add(STROKE_RECT, this.stroke, this.stroke, null);
+
+        this.args[a] = x;
+        this.args[a + 1] = y;
+        this.args[a + 2] = w;
+        this.args[a + 3] = h;
+    }
+
+    private int toImageId(Image image) {
+        Integer id = this.imageIds.get(image);
+
+        if (Objects.isNull(id)) {
+            id = this.imageIds.size();
+            this.imageIds.put(image, id);
+        }
+
+        return id;
+    }
+
+    private int toPaintId(Paint paint) {
+        if (paint == this.lastPaint) {
+            return this.lastPaintId;
+        }
+
+        Integer id = this.paintIds.get(paint);
+
+        if (Objects.isNull(id)) {
+            id = this.paintIds.size();
+            this.paintIds.put(paint, id);
+
+            if (id == this.paints.length) {
+                this.paints = Arrays.copyOf(this.paints, id << 1);
+            }
+            this.paints[id] = paint;
+        }
+
+        this.lastPaint = paint;
+        this.lastPaintId = id;
+
+        return id;
+    }
+
+}
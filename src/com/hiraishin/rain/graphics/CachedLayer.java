@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import java.util.Objects;
+
+import com.hiraishin.rain.util.ImageLoader;
+
+import javafx.application.Platform;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/*
+ * Rasterizes a drawable covering the given scene rectangle into an image and draws that image
+ * until the layer is invalidated. The image holds scale pixels per scene unit to match a scaled
+ * target. Rasterizing needs the FX thread, the headless loader or any other thread draws the
+ * drawable directly.
+ */
+public class CachedLayer implements Drawable {
+
+    private final Drawable content;
+    private final double x;
+    private final double y;
+    private final int width;
+    private final int height;
+    private final double scale;
+
+    private Canvas canvas;
+    private WritableImage image;
+    private boolean dirty = true;
+
+    public CachedLayer(Drawable content, double x, double y, int width, int height) {
+        this(content, x, y, width, height, 1);
+    }
+
+    public CachedLayer(Drawable content, double x, double y, int width, int height,
+                       double scale) {
+        this.content = Objects.requireNonNull(content);
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.scale = scale;
+    }
+
+    @Override
+    public void draw(Renderer renderer, double alpha) {
+        if (ImageLoader.INSTANCE.isHeadless() || !Platform.isFxApplicationThread()) {
+            this.content.draw(renderer, alpha);
+            return;
+        }
+
+        if (this.dirty) {
+            rebuild(alpha);
+        }
+
+        renderer.drawImage(this.image, this.x, this.y, this.width, this.height);
+    }
+
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    private void rebuild(double alpha) {
+        if (Objects.isNull(this.canvas)) {
+            final int width = (int) Math.ceil(this.width * this.scale);
+            final int height = (int) Math.ceil(this.height * this.scale);
+
+            this.canvas = new Canvas(width, height);
+            this.image = new WritableImage(width, height);
+        }
+
+        final GraphicsContext gc = this.canvas.getGraphicsContext2D();
+        final SnapshotParameters parameters = new SnapshotParameters();
+
+        gc.clearRect(0, 0, this.canvas.getWidth(), this.canvas.getHeight());
+        gc.save();
+        gc.scale(this.scale, this.scale);
+        gc.translate(-this.x, -this.y);
+        this.content.draw(new CanvasRenderer(gc), alpha);
+        gc.restore();
+
+        parameters.setFill(Color.TRANSPARENT);
+        this.canvas.snapshot(parameters, this.image);
+
+        this.dirty = false;
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import java.util.Objects;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+
+public class CanvasRenderer implements Renderer {
+
+    private final GraphicsContext gc;
+
+    public CanvasRenderer(GraphicsContext gc) {
+        this.gc = Objects.requireNonNull(gc);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double w, double h) {
+        this.gc.drawImage(image, x, y, w, h);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh, double dx,
+                          double dy, double dw, double dh) {
+        this.gc.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        this.gc.fillRect(x, y, w, h);
+    }
+
+    /*
+     * One path filled once instead of a fill command per rectangle.
+     */
+    @Override
+    public void fillRects(double rects[], int count) {
+        this.gc.beginPath();
+        for (int i = 0; i < count * 4; i += 4) {
+            this.gc.rect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+        }
+        this.gc.fill();
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        this.gc.fillText(text, x, y);
+    }
+
+    public GraphicsContext getGraphicsContext() {
+        return this.gc;
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        this.gc.setFill(paint);
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        this.gc.setStroke(paint);
+    }
+
+    @Override
+    public void strokeArc(double x, double y, double w, double h, double startAngle,
+                          double arcExtent, ArcType closure) {
+        this.gc.strokeArc(x, y, w, h, startAngle, arcExtent, closure);
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double w, double h) {
+        this.gc.strokeRect(x, y, w, h);
+    }
+
+}
@@ -4,10 +4,8 @@
 
 package com.hiraishin.rain.graphics;
 
-import javafx.scene.canvas.GraphicsContext;
-
 public interface Drawable {
 
-    void draw(GraphicsContext gc);
+    void draw(Renderer renderer, double alpha);
 
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+/*
+ * Draw layers from back to front. Commands inside a sorted layer may be reordered to group
+ * images and paints, the others keep the order they were submitted in.
+ */
+public enum Layer {
+
+    BACKGROUND(false),
+
+    PARTICLES(true),
+
+    MOBS(true),
+
+    HUD(false),
+
+    DEBUG(false);
+
+    private final boolean sorted;
+
+    private Layer(boolean sorted) {
+        this.sorted = sorted;
+    }
+
+    public boolean isSorted() {
+        return this.sorted;
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import java.util.Objects;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+import javafx.scene.transform.Scale;
+
+/*
+ * Stack of canvases, one per layer. A layer is only cleared and redrawn in a frame when it was
+ * invalidated or its redraw interval elapsed, commands for the other layers are dropped and
+ * their canvases keep the pixels of the last redraw.
+ *
+ * Canvases are allocated at the render scale and drawn through a matching transform, the view
+ * scales them back so scene coordinates stay the same at every render scale.
+ */
+public class LayeredRenderer implements Renderer {
+
+    /* Layer is redrawn only when invalidated */
+    public static final long ON_INVALIDATE = Long.MAX_VALUE;
+
+    private static final Layer LAYERS[] = Layer.values();
+
+    private final Canvas canvases[] = new Canvas[LAYERS.length];
+    private final CanvasRenderer renderers[] = new CanvasRenderer[LAYERS.length];
+    private final long intervals[] = new long[LAYERS.length];
+    private final long redrawn[] = new long[LAYERS.length];
+    private final boolean invalid[] = new boolean[LAYERS.length];
+    private final boolean due[] = new boolean[LAYERS.length];
+    private final Group view = new Group();
+    private final double width;
+    private final double height;
+
+    private CanvasRenderer current;
+    private boolean drawing = false;
+    private int redrawCount = 0;
+
+    public LayeredRenderer(double width, double height) {
+        this(width, height, 1);
+    }
+
+    public LayeredRenderer(double width, double height, double scale) {
+        this.width = width;
+        this.height = height;
+
+        for (Layer layer : LAYERS) {
+            final Canvas canvas = new Canvas(Math.ceil(width * scale), Math.ceil(height * scale));
+
+            canvas.setMouseTransparent(true);
+            canvas.getGraphicsContext2D().scale(scale, scale);
+
+            this.canvases[layer.ordinal()] = canvas;
+            this.renderers[layer.ordinal()] = new CanvasRenderer(canvas.getGraphicsContext2D());
+            this.invalid[layer.ordinal()] = true;
+            this.view.getChildren().add(canvas);
+        }
+
+        if (scale != 1) {
+            this.view.getTransforms().add(new Scale(1 / scale, 1 / scale));
+        }
+    }
+
+    /*
+     * Starts a frame, decides which layers are redrawn and clears them.
+     */
+    public void begin(long now) {
+        this.drawing = true;
+        this.redrawCount = 0;
+
+        for (int i = 0; i < LAYERS.length; i++) {
+            this.due[i] = false;
+
+            if (this.invalid[i] || this.intervals[i] != ON_INVALIDATE &&
+                    now - this.redrawn[i] >= this.intervals[i]) {
+                redraw(i);
+                this.redrawn[i] = now;
+            }
+        }
+
+        setLayer(Layer.BACKGROUND);
+    }
+
+    public void end() {
+        this.drawing = false;
+        this.current = null;
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double w, double h) {
+        if (Objects.nonNull(this.current)) {
+            this.current.drawImage(image, x, y, w, h);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh, double dx,
+                          double dy, double dw, double dh) {
+        if (Objects.nonNull(this.current)) {
+            this.current.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+        }
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        if (Objects.nonNull(this.current)) {
+            this.current.fillRect(x, y, w, h);
+        }
+    }
+
+    @Override
+    public void fillRects(double rects[], int count) {
+        if (Objects.nonNull(this.current)) {
+            this.current.fillRects(rects, count);
+        }
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        if (Objects.nonNull(this.current)) {
+            this.current.fillText(text, x, y);
+        }
+    }
+
+    public int getRedrawCount() {
+        return this.redrawCount;
+    }
+
+    public Node getView() {
+        return this.view;
+    }
+
+    /*
+     * Inside a frame the layer is cleared right away and takes the commands that follow,
+     * otherwise it is redrawn in the next frame.
+     */
+    @Override
+    public void invalidate(Layer layer) {
+        if (!this.drawing) {
+            this.invalid[layer.ordinal()] = true;
+        } else if (!this.due[layer.ordinal()]) {
+            redraw(layer.ordinal());
+        }
+    }
+
+    @Override
+    public boolean isDue(Layer layer) {
+        return this.due[layer.ordinal()];
+    }
+
+    private void redraw(int i) {
+        this.canvases[i].getGraphicsContext2D().clearRect(0, 0, this.width, this.height);
+        this.due[i] = true;
+        this.invalid[i] = false;
+        this.redrawCount++;
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        if (Objects.nonNull(this.current)) {
+            this.current.setFill(paint);
+        }
+    }
+
+    @Override
+    public void setLayer(Layer layer) {
+        this.current = this.due[layer.ordinal()] ? this.renderers[layer.ordinal()] : null;
+    }
+
+    /*
+     * Nanoseconds between redraws of the layer, 0 redraws it every frame.
+     */
+    public void setRedrawInterval(Layer layer, long interval) {
+        this.intervals[layer.ordinal()] = interval;
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        if (Objects.nonNull(this.current)) {
+            this.current.setStroke(paint);
+        }
+    }
+
+    @Override
+    public void strokeArc(double x, double y, double w, double h, double startAngle,
+                          double arcExtent, ArcType closure) {
+        if (Objects.nonNull(this.current)) {
+            this.current.strokeArc(x, y, w, h, startAngle, arcExtent, closure);
+        }
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double w, double h) {
+        if (Objects.nonNull(this.current)) {
+            this.current.strokeRect(x, y, w, h);
+        }
+    }
+
+}
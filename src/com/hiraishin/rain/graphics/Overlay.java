@@ -6,49 +6,55 @@ package com.hiraishin.rain.graphics;
 
 import java.util.Objects;
 
+import com.hiraishin.rain.Application;
 import com.hiraishin.rain.level.GameData;
 import com.hiraishin.rain.level.player.PlayerProperties;
 import com.hiraishin.rain.level.player.Skill;
-import com.hiraishin.rain.util.ImageLoader;
 
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 public class Overlay implements Drawable {
 
-    private static final Sprite HLT_BAR = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/bars/health"), 1, 10);
-    private static final Sprite ARM_BAR = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/bars/armor"), 1, 10);
-    private static final Sprite EXP_BAR = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/bars/experience"), 1, 100);
-    private static final Sprite PWR_BAR = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/bars/energy"), 2, 100);
-
-    private static final Sprite ABL_ICO = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/icons/ability"), 1, 4);
-    private static final Sprite HLC_ICO = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/icons/health"), 1, 1);
-    private static final Sprite EXP_ICO = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/icons/experience"), 1, 1);
-    private static final Sprite PWR_ICO = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/icons/energy"), 1, 1);
-
-    private static final Sprite SQ_FRAME = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/icons/frame"), 1, 1);
-    private static final Sprite RC_FRAME = new Sprite(ImageLoader.INSTANCE
-            .getImage("gui/bars/frame"), 1, 1);
+    private static final Sprite HLT_BAR = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/bars/health"), 1, 10);
+    private static final Sprite ARM_BAR = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/bars/armor"), 1, 10);
+    private static final Sprite EXP_BAR = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/bars/experience"), 1, 100);
+    private static final Sprite PWR_BAR = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/bars/energy"), 2, 100);
+
+    private static final Sprite ABL_ICO = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/icons/ability"), 1, 4);
+    private static final Sprite HLC_ICO = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/icons/health"), 1, 1);
+    private static final Sprite EXP_ICO = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/icons/experience"), 1, 1);
+    private static final Sprite PWR_ICO = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/icons/energy"), 1, 1);
+
+    private static final Sprite SQ_FRAME = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/icons/frame"), 1, 1);
+    private static final Sprite RC_FRAME = new Sprite(TextureAtlas.INSTANCE
+            .getRegion("gui/bars/frame"), 1, 1);
+
+    private static final int CHROME_WIDTH = 260;
+    private static final int CHROME_HEIGHT = 110;
 
     private final double x;
     private final double y;
+    private final CachedLayer chrome;
 
     private Skill skill;
     private int level;
+    private boolean dirty = true;
 
     public Overlay(double x, double y, PlayerProperties properties) {
         this.x = x;
         this.y = y;
         this.skill = properties.getSelectedSkill();
+        this.chrome = new CachedLayer(this::drawStatic, x, y, CHROME_WIDTH, CHROME_HEIGHT,
+                                      Application.RENDER_SCALE);
 
         level = properties.getLevelProperty().intValue();
 
@@ -72,19 +78,26 @@ public class Overlay implements Drawable {
         }
 
         properties.getLevelProperty().addListener((Observable, OldValue, NewValue) -> {
-            level = NewValue.intValue();
+            if (level != NewValue.intValue()) {
+                level = NewValue.intValue();
+                chrome.invalidate();
+                dirty = true;
+            }
         });
 
         properties.getHealthProperty().addListener((Observable, OldValue, NewValue) -> {
             HLT_BAR.setTileSpan(1, NewValue.intValue());
+            dirty = true;
         });
 
         properties.getArmorProperty().addListener((Observable, OldValue, NewValue) -> {
             ARM_BAR.setTileSpan(1, NewValue.intValue());
+            dirty = true;
         });
 
         properties.getExperienceProperty().addListener((Observable, OldValue, NewValue) -> {
             EXP_BAR.setTileSpan(1, NewValue.intValue());
+            dirty = true;
         });
 
         properties.getEnergyProperty().addListener((Observable, OldValue, NewValue) -> {
@@ -95,36 +108,51 @@ public class Overlay implements Drawable {
             } else {
                 PWR_BAR.selectTile(0, 0);
             }
+
+            dirty = true;
         });
     }
 
+    /*
+     * Icons, frames and the level number only change on level up and are drawn from the cached
+     * chrome, the bars follow the properties every tick and are drawn over it.
+     */
     @Override
-    public void draw(GraphicsContext gc) {
-        drawStatic(gc);
+    public void draw(Renderer renderer, double alpha) {
+        this.chrome.draw(renderer, alpha);
 
-        HLT_BAR.draw(gc, x + 20, y + 10);
-        ARM_BAR.draw(gc, x + 20, y + 10);
-        EXP_BAR.draw(gc, x + 20, y + 30);
-        PWR_BAR.draw(gc, x + 20, y + 50);
+        HLT_BAR.draw(renderer, x + 20, y + 10);
+        ARM_BAR.draw(renderer, x + 20, y + 10);
+        EXP_BAR.draw(renderer, x + 20, y + 30);
+        PWR_BAR.draw(renderer, x + 20, y + 50);
 
-        gc.setFill(Color.YELLOW);
-        gc.fillText("" + level, x + 230, y + 42);
+        this.dirty = false;
     }
 
-    private void drawStatic(GraphicsContext gc) {
-        HLC_ICO.draw(gc, x + 2, y + 10);
-        EXP_ICO.draw(gc, x + 2, y + 30);
+    /*
+     * Whether a property changed since the overlay was last drawn.
+     */
+    public boolean isDirty() {
+        return this.dirty;
+    }
 
-        RC_FRAME.draw(gc, x + 20, y + 10);
-        RC_FRAME.draw(gc, x + 20, y + 30);
+    private void drawStatic(Renderer renderer, double alpha) {
+        HLC_ICO.draw(renderer, x + 2, y + 10);
+        EXP_ICO.draw(renderer, x + 2, y + 30);
+
+        RC_FRAME.draw(renderer, x + 20, y + 10);
+        RC_FRAME.draw(renderer, x + 20, y + 30);
 
         if (Objects.nonNull(skill)) {
-            PWR_ICO.draw(gc, x + 2, y + 50);
-            RC_FRAME.draw(gc, x + 20, y + 50);
+            PWR_ICO.draw(renderer, x + 2, y + 50);
+            RC_FRAME.draw(renderer, x + 20, y + 50);
 
-            SQ_FRAME.draw(gc, x + 20, y + 70);
-            ABL_ICO.draw(gc, x + 22, y + 72);
+            SQ_FRAME.draw(renderer, x + 20, y + 70);
+            ABL_ICO.draw(renderer, x + 22, y + 72);
         }
+
+        renderer.setFill(Color.YELLOW);
+        renderer.fillText("" + level, x + 230, y + 42);
     }
 
 }
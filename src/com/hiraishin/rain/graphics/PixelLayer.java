@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.hiraishin.rain.util.ImageLoader;
+
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/*
+ * Premultiplied ARGB buffer that is rasterized into directly and composited with a single image
+ * draw. Only the band of rows touched since the last clear is cleared and uploaded. The buffer
+ * holds scale pixels per scene unit, blendColumn() takes buffer pixel coordinates.
+ */
+public class PixelLayer implements Drawable {
+
+    private static final PixelFormat<IntBuffer> FORMAT = PixelFormat.getIntArgbPreInstance();
+
+    private final double sceneWidth;
+    private final double sceneHeight;
+    private final double scale;
+    private final int width;
+    private final int height;
+    private final int pixels[];
+
+    private WritableImage image;
+    private int dirtyMin;
+    private int dirtyMax;
+    private int uploadedMin = 0;
+    private int uploadedMax = -1;
+
+    public PixelLayer(int width, int height) {
+        this(width, height, 1);
+    }
+
+    public PixelLayer(int width, int height, double scale) {
+        this.sceneWidth = width;
+        this.sceneHeight = height;
+        this.scale = scale;
+        this.width = (int) Math.ceil(width * scale);
+        this.height = (int) Math.ceil(height * scale);
+        this.pixels = new int[this.width * this.height];
+
+        this.dirtyMin = this.height;
+        this.dirtyMax = -1;
+    }
+
+    public static int toArgb(Color color) {
+        final int a = (int) Math.round(color.getOpacity() * 255);
+
+        return a << 24 | (int) Math.round(color.getRed() * a) << 16 |
+                (int) Math.round(color.getGreen() * a) << 8 | (int) Math.round(color.getBlue() * a);
+    }
+
+    /*
+     * Blends a one pixel wide vertical line of rows [y0, y1) over the buffer, argb has to be
+     * premultiplied.
+     */
+    public void blendColumn(int x, int y0, int y1, int argb) {
+        if (x < 0 || x >= this.width) {
+            return;
+        }
+
+        y0 = Math.max(y0, 0);
+        y1 = Math.min(y1, this.height);
+        if (y0 >= y1) {
+            return;
+        }
+
+        final int inverse = 256 - (argb >>> 24);
+        final int end = y1 * this.width + x;
+
+        /* Red and blue, alpha and green are scaled two channels per multiply */
+        for (int i = y0 * this.width + x; i < end; i += this.width) {
+            final int dst = this.pixels[i];
+
+            this.pixels[i] = argb + ((((dst & 0x00FF00FF) * inverse) >>> 8) & 0x00FF00FF |
+                    (((dst >>> 8) & 0x00FF00FF) * inverse) & 0xFF00FF00);
+        }
+
+        this.dirtyMin = Math.min(this.dirtyMin, y0);
+        this.dirtyMax = Math.max(this.dirtyMax, y1 - 1);
+    }
+
+    public void clear() {
+        if (this.dirtyMax >= this.dirtyMin) {
+            Arrays.fill(this.pixels, this.dirtyMin * this.width, (this.dirtyMax + 1) * this.width,
+                        0);
+        }
+
+        this.dirtyMin = this.height;
+        this.dirtyMax = -1;
+    }
+
+    /*
+     * Uploads the rows drawn this frame together with the rows drawn last frame, which have to be
+     * cleared in the image as well.
+     */
+    @Override
+    public void draw(Renderer renderer, double alpha) {
+        if (ImageLoader.INSTANCE.isHeadless()) {
+            return;
+        }
+
+        if (Objects.isNull(this.image)) {
+            this.image = new WritableImage(this.width, this.height);
+        }
+
+        final int min = Math.min(this.dirtyMin, this.uploadedMin);
+        final int max = Math.max(this.dirtyMax, this.uploadedMax);
+
+        if (max >= min) {
+            this.image.getPixelWriter().setPixels(0, min, this.width, max - min + 1, FORMAT,
+                                                  this.pixels, min * this.width, this.width);
+        }
+
+        this.uploadedMin = this.dirtyMin;
+        this.uploadedMax = this.dirtyMax;
+
+        renderer.drawImage(this.image, 0, 0, this.sceneWidth, this.sceneHeight);
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public double getScale() {
+        return this.scale;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+
+/*
+ * Renderer that draws nothing and only counts the commands it receives, used to run levels
+ * without a JavaFX toolkit.
+ */
+public class RecordingRenderer implements Renderer {
+
+    private long imageCount = 0;
+    private long shapeCount = 0;
+    private long textCount = 0;
+    private long stateCount = 0;
+
+    @Override
+    public void drawImage(Image image, double x, double y, double w, double h) {
+        this.imageCount++;
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh, double dx,
+                          double dy, double dw, double dh) {
+        this.imageCount++;
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        this.shapeCount++;
+    }
+
+    @Override
+    public void fillRects(double rects[], int count) {
+        this.shapeCount++;
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        this.textCount++;
+    }
+
+    public long getCommandCount() {
+        return this.imageCount + this.shapeCount + this.textCount + this.stateCount;
+    }
+
+    public long getImageCount() {
+        return this.imageCount;
+    }
+
+    public long getShapeCount() {
+        return this.shapeCount;
+    }
+
+    public long getStateCount() {
+        return this.stateCount;
+    }
+
+    public long getTextCount() {
+        return this.textCount;
+    }
+
+    public void reset() {
+        this.imageCount = 0;
+        this.shapeCount = 0;
+        this.textCount = 0;
+        this.stateCount = 0;
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        this.stateCount++;
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        this.stateCount++;
+    }
+
+    @Override
+    public void strokeArc(double x, double y, double w, double h, double startAngle,
+                          double arcExtent, ArcType closure) {
+        this.shapeCount++;
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double w, double h) {
+        this.shapeCount++;
+    }
+
+}
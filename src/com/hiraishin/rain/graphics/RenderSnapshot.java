@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import java.util.Arrays;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+
+/*
+ * Recorded frame that can be replayed into another renderer, possibly on another thread. Layers
+ * invalidated while recording are kept as a mask instead of a command.
+ */
+public final class RenderSnapshot implements Renderer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final byte IMAGE = 0;
+    private static final byte IMAGE_REGION = 1;
+    private static final byte FILL_RECT = 2;
+    private static final byte FILL_RECTS = 3;
+    private static final byte FILL_TEXT = 4;
+    private static final byte SET_FILL = 5;
+    private static final byte SET_LAYER = 6;
+    private static final byte SET_STROKE = 7;
+    private static final byte STROKE_ARC = 8;
+    private static final byte STROKE_RECT = 9;
+
+    private byte ops[] = new byte[INITIAL_CAPACITY];
+    private double args[] = new double[INITIAL_CAPACITY * 4];
+    private Object refs[] = new Object[INITIAL_CAPACITY];
+    private double rects[] = new double[0];
+    private int opCount = 0;
+    private int argCount = 0;
+    private int refCount = 0;
+    private int invalidated = 0;
+
+    private void add(byte op, Object ref, int argCount) {
+        if (this.opCount == this.ops.length) {
+            this.ops = Arrays.copyOf(this.ops, this.opCount << 1);
+        }
+
+        if (this.argCount + argCount > this.args.length) {
+            this.args = Arrays.copyOf(this.args, Math.max(this.args.length << 1,
+                                                          this.argCount + argCount));
+        }
+
+        if (this.refCount == this.refs.length) {
+            this.refs = Arrays.copyOf(this.refs, this.refCount << 1);
+        }
+
+        this.ops[this.opCount++] = op;
+        this.refs[this.refCount++] = ref;
+    }
+
+    private void arg(double value) {
+        this.args[this.argCount++] = value;
+    }
+
+    /*
+     * Starts a new recording, invalidations of a snapshot that was dropped unseen are carried
+     * over by passing its mask.
+     */
+    public void clear(int invalidated) {
+        Arrays.fill(this.refs, 0, this.refCount, null);
+
+        this.opCount = 0;
+        this.argCount = 0;
+        this.refCount = 0;
+        this.invalidated = invalidated;
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double w, double h) {
+        add(IMAGE, image, 4);
+        arg(x);
+        arg(y);
+        arg(w);
+        arg(h);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh, double dx,
+                          double dy, double dw, double dh) {
+        add(IMAGE_REGION, image, 8);
+        arg(sx);
+        arg(sy);
+        arg(sw);
+        arg(sh);
+        arg(dx);
+        arg(dy);
+        arg(dw);
+        arg(dh);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        add(FILL_RECT, null, 4);
+        arg(x);
+        arg(y);
+        arg(w);
+        arg(h);
+    }
+
+    @Override
+    public void fillRects(double rects[], int count) {
+        add(FILL_RECTS, null, count * 4 + 1);
+        arg(count);
+        System.arraycopy(rects, 0, this.args, this.argCount, count * 4);
+        this.argCount += count * 4;
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        add(FILL_TEXT, text, 2);
+        arg(x);
+        arg(y);
+    }
+
+    public int getCommandCount() {
+        return this.opCount;
+    }
+
+    public int getInvalidated() {
+        return this.invalidated;
+    }
+
+    @Override
+    public void invalidate(Layer layer) {
+        this.invalidated |= 1 << layer.ordinal();
+    }
+
+    public boolean isInvalidated(Layer layer) {
+        return (this.invalidated & (1 << layer.ordinal())) != 0;
+    }
+
+    /*
+     * Issues the recorded commands to the target in recording order.
+     */
+    public void replay(Renderer target) {
+        int a = 0;
+        for (int i = 0; i < this.opCount; i++) {
+            final Object ref = this.refs[i];
+
+            switch (this.ops[i]) {
+            case IMAGE:
+                target.drawImage((Image) ref, this.args[a], this.args[a + 1], this.args[a + 2],
+                                 this.args[a + 3]);
+                a += 4;
+                break;
+            case IMAGE_REGION:
+                target.drawImage((Image) ref, this.args[a], this.args[a + 1], this.args[a + 2],
+                                 this.args[a + 3], this.args[a + 4], this.args[a + 5],
+                                 this.args[a + 6], this.args[a + 7]);
+                a += 8;
+                break;
+            case FILL_RECT:
+                target.fillRect(this.args[a], this.args[a + 1], this.args[a + 2],
+                                this.args[a + 3]);
+                a += 4;
+                break;
+            case FILL_RECTS:
+                final int count = (int) this.args[a];
+
+                if (this.rects.length < count * 4) {
+                    this.rects = new double[count * 4];
+                }
+
+                System.arraycopy(this.args, a + 1, this.rects, 0, count * 4);
+                target.fillRects(this.rects, count);
+                a += count * 4 + 1;
+                break;
+            case FILL_TEXT:
+                target.fillText((String) ref, this.args[a], this.args[a + 1]);
+                a += 2;
+                break;
+            case SET_FILL:
+                target.setFill((Paint) ref);
+                break;
+            case SET_LAYER:
+                target.setLayer((Layer) ref);
+                break;
+            case SET_STROKE:
+                target.setStroke((Paint) ref);
+                break;
+            case STROKE_ARC:
+                target.strokeArc(this.args[a], this.args[a + 1], this.args[a + 2],
+                                 this.args[a + 3], this.args[a + 4], this.args[a + 5],
+                                 (ArcType) ref);
+                a += 6;
+                break;
+            case STROKE_RECT:
+                target.strokeRect(this.args[a], this.args[a + 1], this.args[a + 2],
+                                  this.args[a + 3]);
+                a += 4;
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        add(SET_FILL, paint, 0);
+    }
+
+    @Override
+    public void setLayer(Layer layer) {
+        add(SET_LAYER, layer, 0);
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        add(SET_STROKE, paint, 0);
+    }
+
+    @Override
+    public void strokeArc(double x, double y, double w, double h, double startAngle,
+                          double arcExtent, ArcType closure) {
+        add(STROKE_ARC, closure, 6);
+        arg(x);
+        arg(y);
+        arg(w);
+        arg(h);
+        arg(startAngle);
+        arg(arcExtent);
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double w, double h) {
+        add(STROKE_RECT, null, 4);
+        arg(x);
+        arg(y);
+        arg(w);
+        arg(h);
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.ArcType;
+
+public interface Renderer {
+
+    void drawImage(Image image, double x, double y, double w, double h);
+
+    void drawImage(Image image, double sx, double sy, double sw, double sh, double dx, double dy,
+                   double dw, double dh);
+
+    void fillRect(double x, double y, double w, double h);
+
+    /*
+     * Fills count rectangles stored as x, y, width, height quadruples with the current fill.
+     */
+    default void fillRects(double rects[], int count) {
+        for (int i = 0; i < count * 4; i += 4) {
+            fillRect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+        }
+    }
+
+    void fillText(String text, double x, double y);
+
+    /*
+     * Layer needs a redraw whatever its redraw rate is.
+     */
+    default void invalidate(Layer layer) {
+
+    }
+
+    /*
+     * Whether the layer is redrawn this frame, commands for a layer that is not due are dropped
+     * and drawing them can be skipped.
+     */
+    default boolean isDue(Layer layer) {
+        return true;
+    }
+
+    void setFill(Paint paint);
+
+    /*
+     * Layer of the commands that follow, only renderers that reorder commands care about it.
+     */
+    default void setLayer(Layer layer) {
+
+    }
+
+    void setStroke(Paint paint);
+
+    void strokeArc(double x, double y, double w, double h, double startAngle, double arcExtent,
+                   ArcType closure);
+
+    void strokeRect(double x, double y, double w, double h);
+
+}
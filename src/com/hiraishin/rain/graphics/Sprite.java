@@ -4,8 +4,7 @@
 
 package com.hiraishin.rain.graphics;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
+import java.util.Objects;
 
 public class Sprite {
 
@@ -13,7 +12,7 @@ public class Sprite {
     private final int colCount;
     private final double tileWidth;
     private final double tileHeight;
-    private final Image image;
+    private final TextureRegion region;
 
     private int selectedRow = 0;
     private int selectedCol = 0;
@@ -24,24 +23,24 @@ public class Sprite {
     private double xScale = 1;
     private double yScale = 1;
 
-    public Sprite(Image image, int rowCount, int colCount) {
+    public Sprite(TextureRegion region, int rowCount, int colCount) {
         if (rowCount < 1 || colCount < 1) {
             throw new IllegalArgumentException("Sprite has to have at least 1 row and 1 column!");
         }
 
-        this.image = image;
+        this.region = region;
         this.rowCount = rowCount;
         this.colCount = colCount;
 
-        this.tileWidth = image.getWidth() / colCount;
-        this.tileHeight = image.getHeight() / rowCount;
+        this.tileWidth = Objects.nonNull(region) ? region.getWidth() / colCount : 0;
+        this.tileHeight = Objects.nonNull(region) ? region.getHeight() / rowCount : 0;
 
     }
 
-    public void draw(GraphicsContext gc, double x, double y) {
-        if (this.rowSize > 0 && this.colSize > 0) {
-            final double sx = this.selectedCol * this.tileWidth;
-            final double sy = this.selectedRow * this.tileHeight;
+    public void draw(Renderer renderer, double x, double y) {
+        if (Objects.nonNull(this.region) && this.rowSize > 0 && this.colSize > 0) {
+            final double sx = this.region.getX() + this.selectedCol * this.tileWidth;
+            final double sy = this.region.getY() + this.selectedRow * this.tileHeight;
             final double sw = this.colSize * this.tileWidth;
             final double sh = this.rowSize * this.tileHeight;
 
@@ -50,7 +49,7 @@ public class Sprite {
             final double dw = sw * this.xScale;
             final double dh = sh * this.yScale;
 
-            gc.drawImage(this.image, sx, sy, sw, sh, dx, dy, dw, dh);
+            renderer.drawImage(this.region.getImage(), sx, sy, sw, sh, dx, dy, dw, dh);
         }
     }
 
@@ -61,6 +60,17 @@ public class Sprite {
         }
     }
 
+    /*
+     * Size of the selected tile span as drawn, including the scale.
+     */
+    public double getDrawHeight() {
+        return this.rowSize * this.tileHeight * Math.abs(this.yScale);
+    }
+
+    public double getDrawWidth() {
+        return this.colSize * this.tileWidth * Math.abs(this.xScale);
+    }
+
     public double getTileWidth() {
         return this.tileWidth;
     }
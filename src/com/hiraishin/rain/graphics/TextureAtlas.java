@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.hiraishin.rain.util.ImageLoader;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
+
+/*
+ * Packs the images held by the image loader into a few shared pages so sprites of different
+ * entities are drawn from the same image. Images not packed are handed out as standalone regions.
+ */
+public enum TextureAtlas {
+
+    INSTANCE;
+
+    private static final WritablePixelFormat<IntBuffer> FORMAT = WritablePixelFormat
+            .getIntArgbPreInstance();
+    private static final int PADDING = 1;
+
+    private final Map<String, TextureRegion> regions = new HashMap<>();
+    private final Map<String, TextureRegion> mirroredRegions = new HashMap<>();
+    private final List<WritableImage> pages = new ArrayList<>();
+
+    /*
+     * Horizontally flipped copy of the image, null unless it was packed as mirrored.
+     */
+    public TextureRegion getMirroredRegion(String token) {
+        return this.mirroredRegions.get(token);
+    }
+
+    public int getPageCount() {
+        return this.pages.size();
+    }
+
+    public TextureRegion getRegion(String token) {
+        TextureRegion region = this.regions.get(token);
+
+        if (Objects.isNull(region)) {
+            final Image image = ImageLoader.INSTANCE.getImage(token);
+
+            if (Objects.isNull(image)) {
+                return null;
+            }
+
+            region = new TextureRegion(image);
+            this.regions.put(token, region);
+        }
+
+        return region;
+    }
+
+    /*
+     * Packs every image loaded so far into pages of size x size pixels, tallest first onto
+     * shelves. Images larger than a page stay standalone, mirrored tokens also get a flipped copy.
+     * Has to run before any sprite asks for its region.
+     */
+    public void pack(int size, String... mirrored) {
+        this.regions.clear();
+        this.mirroredRegions.clear();
+        this.pages.clear();
+
+        if (ImageLoader.INSTANCE.isHeadless()) {
+            return;
+        }
+
+        final Set<String> flipped = new HashSet<>(Arrays.asList(mirrored));
+        final List<Slot> slots = new ArrayList<>();
+
+        for (String token : ImageLoader.INSTANCE.getTokens()) {
+            final Image image = ImageLoader.INSTANCE.getImage(token);
+
+            if (image.getWidth() > size || image.getHeight() > size ||
+                    Objects.isNull(image.getPixelReader())) {
+                continue;
+            }
+
+            slots.add(new Slot(token, image, false));
+            if (flipped.contains(token)) {
+                slots.add(new Slot(token, image, true));
+            }
+        }
+
+        slots.sort((a, b) -> a.height != b.height ? b.height - a.height :
+                a.token.equals(b.token) ? Boolean.compare(a.mirrored, b.mirrored) :
+                        a.token.compareTo(b.token));
+
+        int page = -1;
+        int x = 0;
+        int y = 0;
+        int shelf = 0;
+
+        for (Slot slot : slots) {
+            if (x + slot.width > size) {
+                x = 0;
+                y += shelf;
+                shelf = 0;
+            }
+
+            if (page < 0 || y + slot.height > size) {
+                this.pages.add(new WritableImage(size, size));
+
+                page++;
+                x = 0;
+                y = 0;
+                shelf = 0;
+            }
+
+            copy(slot, this.pages.get(page), x, y);
+
+            x += slot.width + PADDING;
+            shelf = Math.max(shelf, slot.height + PADDING);
+        }
+    }
+
+    private void copy(Slot slot, WritableImage page, int x, int y) {
+        final PixelReader reader = slot.image.getPixelReader();
+        final PixelWriter writer = page.getPixelWriter();
+        final int row[] = new int[slot.width];
+
+        for (int j = 0; j < slot.height; j++) {
+            reader.getPixels(0, j, slot.width, 1, FORMAT, row, 0, slot.width);
+
+            if (slot.mirrored) {
+                for (int l = 0, r = slot.width - 1; l < r; l++, r--) {
+                    final int pixel = row[l];
+                    row[l] = row[r];
+                    row[r] = pixel;
+                }
+            }
+
+            writer.setPixels(x, y + j, slot.width, 1, FORMAT, row, 0, slot.width);
+        }
+
+        final TextureRegion region = new TextureRegion(page, x, y, slot.width, slot.height);
+        (slot.mirrored ? this.mirroredRegions : this.regions).put(slot.token, region);
+    }
+
+    private static final class Slot {
+
+        private final String token;
+        private final Image image;
+        private final boolean mirrored;
+        private final int width;
+        private final int height;
+
+        private Slot(String token, Image image, boolean mirrored) {
+            this.token = token;
+            this.image = image;
+            this.mirrored = mirrored;
+            this.width = (int) image.getWidth();
+            this.height = (int) image.getHeight();
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics;
+
+import java.util.Objects;
+
+import javafx.scene.image.Image;
+
+/*
+ * Rectangle of an image, either a whole standalone image or a slot of an atlas page.
+ */
+public final class TextureRegion {
+
+    private final Image image;
+    private final double x;
+    private final double y;
+    private final double width;
+    private final double height;
+
+    public TextureRegion(Image image) {
+        this(image, 0, 0, Objects.nonNull(image) ? image.getWidth() : 0,
+             Objects.nonNull(image) ? image.getHeight() : 0);
+    }
+
+    public TextureRegion(Image image, double x, double y, double width, double height) {
+        this.image = image;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public double getHeight() {
+        return this.height;
+    }
+
+    public Image getImage() {
+        return this.image;
+    }
+
+    public double getWidth() {
+        return this.width;
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getY() {
+        return this.y;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics.animation;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.hiraishin.rain.graphics.Renderer;
+
+/*
+ * Immutable looping animation over a sprite sheet. The first step is the resting frame shown
+ * while the animation is not playing, the others loop every frameTime ticks. Entities share one
+ * clip and keep only the tick they started playing at.
+ */
+public final class AnimationClip {
+
+    private final SpriteSheet sheet;
+    private final int frameTime;
+    private final Step restFrame;
+    private final Step frames[];
+
+    public AnimationClip(SpriteSheet sheet, int frameTime, Step... steps) {
+        if (steps.length < 2) {
+            throw new IllegalArgumentException("Animation clip must contain a resting frame and " +
+                    "at least one animated frame!");
+        }
+
+        this.sheet = Objects.requireNonNull(sheet);
+        this.frameTime = Math.max(1, frameTime);
+        this.restFrame = steps[0];
+        this.frames = Arrays.copyOfRange(steps, 1, steps.length);
+    }
+
+    /*
+     * Draws the frame for the ticks elapsed since the animation started playing, a negative
+     * elapsed time draws the resting frame.
+     */
+    public void draw(Renderer renderer, long elapsed, double x, double y, boolean mirrored) {
+        final Step step = getFrame(elapsed);
+
+        this.sheet.draw(renderer, step.row, step.col, x, y, mirrored);
+    }
+
+    public Step getFrame(long elapsed) {
+        if (elapsed < 0) {
+            return this.restFrame;
+        }
+
+        return this.frames[(int) ((elapsed / this.frameTime) % this.frames.length)];
+    }
+
+    public int getFrameTime() {
+        return this.frameTime;
+    }
+
+    public SpriteSheet getSheet() {
+        return this.sheet;
+    }
+
+}
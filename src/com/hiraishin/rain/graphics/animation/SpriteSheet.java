@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.graphics.animation;
+
+import java.util.Objects;
+
+import com.hiraishin.rain.graphics.Renderer;
+import com.hiraishin.rain.graphics.TextureRegion;
+
+/*
+ * Immutable grid of equally sized tiles, shared by every entity drawing from the same image. With
+ * a pre-mirrored region flipped tiles are drawn from it instead of with a negative width.
+ */
+public final class SpriteSheet {
+
+    private final TextureRegion region;
+    private final TextureRegion mirroredRegion;
+    private final int rowCount;
+    private final int colCount;
+    private final double tileWidth;
+    private final double tileHeight;
+
+    public SpriteSheet(TextureRegion region, int rowCount, int colCount) {
+        this(region, null, rowCount, colCount);
+    }
+
+    public SpriteSheet(TextureRegion region, TextureRegion mirroredRegion, int rowCount,
+                       int colCount) {
+        if (rowCount < 1 || colCount < 1) {
+            throw new IllegalArgumentException("Sprite sheet has to have at least 1 row and 1 " +
+                    "column!");
+        }
+
+        this.region = region;
+        this.mirroredRegion = mirroredRegion;
+        this.rowCount = rowCount;
+        this.colCount = colCount;
+
+        this.tileWidth = Objects.nonNull(region) ? region.getWidth() / colCount : 0;
+        this.tileHeight = Objects.nonNull(region) ? region.getHeight() / rowCount : 0;
+    }
+
+    public void draw(Renderer renderer, int row, int col, double x, double y, boolean mirrored) {
+        if (Objects.isNull(this.region)) {
+            return;
+        }
+
+        if (mirrored && Objects.nonNull(this.mirroredRegion)) {
+            renderer.drawImage(this.mirroredRegion.getImage(),
+                               this.mirroredRegion.getX() +
+                                       (this.colCount - 1 - col) * this.tileWidth,
+                               this.mirroredRegion.getY() + row * this.tileHeight,
+                               this.tileWidth, this.tileHeight, x, y, this.tileWidth,
+                               this.tileHeight);
+        } else {
+            renderer.drawImage(this.region.getImage(),
+                               this.region.getX() + col * this.tileWidth,
+                               this.region.getY() + row * this.tileHeight, this.tileWidth,
+                               this.tileHeight, mirrored ? x + this.tileWidth : x, y,
+                               mirrored ? -this.tileWidth : this.tileWidth, this.tileHeight);
+        }
+    }
+
+    public TextureRegion getMirroredRegion() {
+        return this.mirroredRegion;
+    }
+
+    public TextureRegion getRegion() {
+        return this.region;
+    }
+
+    public int getColCount() {
+        return this.colCount;
+    }
+
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    public double getTileHeight() {
+        return this.tileHeight;
+    }
+
+    public double getTileWidth() {
+        return this.tileWidth;
+    }
+
+}
@@ -7,6 +7,8 @@ package com.hiraishin.rain.input;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javafx.event.EventHandler;
 import javafx.event.EventType;
@@ -18,6 +20,10 @@ public class Keyboard implements EventHandler<KeyEvent> {
 
     private final Map<KeyCode, Boolean> currentMap = new HashMap<>();
     private final Map<KeyCode, Boolean> previousMap = new HashMap<>();
+    private final Queue<Integer> mailbox = new ConcurrentLinkedQueue<>();
+    private final KeyCode keyCodes[] = KeyCode.values();
+
+    private volatile boolean deferred = false;
 
     public void addEventSource(Stage stage) {
         synchronized (Objects.requireNonNull(stage)) {
@@ -31,15 +37,29 @@ public class Keyboard implements EventHandler<KeyEvent> {
         final KeyCode keyCode = keyEvent.getCode();
         final EventType<KeyEvent> eventType = keyEvent.getEventType();
 
-        if (eventType == KeyEvent.KEY_PRESSED) {
-            currentMap.put(keyCode, true);
-        } else if (eventType == KeyEvent.KEY_RELEASED) {
-            currentMap.put(keyCode, false);
+        if (eventType == KeyEvent.KEY_PRESSED || eventType == KeyEvent.KEY_RELEASED) {
+            final boolean held = eventType == KeyEvent.KEY_PRESSED;
+
+            if (this.deferred) {
+                this.mailbox.offer(keyCode.ordinal() << 1 | (held ? 1 : 0));
+            } else {
+                currentMap.put(keyCode, held);
+            }
         }
 
         keyEvent.consume();
     }
 
+    /*
+     * Applies the key events posted to the mailbox, called by the thread that reads the keyboard.
+     */
+    public void drain() {
+        Integer event;
+        while (Objects.nonNull(event = this.mailbox.poll())) {
+            currentMap.put(this.keyCodes[event >>> 1], (event & 1) != 0);
+        }
+    }
+
     public boolean isHeld(KeyCode keyCode) {
         return currentMap.getOrDefault(keyCode, false);
     }
@@ -48,6 +68,22 @@ public class Keyboard implements EventHandler<KeyEvent> {
         return isHeld(keyCode) && !wasHeld(keyCode);
     }
 
+    /*
+     * Deferred keyboard only posts events from the FX thread to a lock-free mailbox, they take
+     * effect once drained so the key maps can be owned by another thread.
+     */
+    public void setDeferred(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    protected void setHeld(KeyCode keyCode, boolean held) {
+        currentMap.put(keyCode, held);
+    }
+
+    protected void setWasHeld(KeyCode keyCode, boolean held) {
+        previousMap.put(keyCode, held);
+    }
+
     public void update() {
         previousMap.putAll(currentMap);
     }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.input;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import com.hiraishin.rain.level.GameData;
+
+import javafx.scene.input.KeyCode;
+
+/*
+ * Recorded run: the level seed, the game data the run started with and one bit per replayed key
+ * per tick.
+ *
+ * Body entries are a varint tick delta followed by a tag byte. Tags other than END are the new
+ * key mask, END is followed by the tick count of the run. Masks are only written when they
+ * change. Only the input is recorded, so a run can only be played from its start and playback
+ * cannot seek.
+ */
+public class Replay {
+
+    public static final KeyCode KEYS[] = { KeyCode.A, KeyCode.D, KeyCode.SPACE, KeyCode.F,
+            KeyCode.ESCAPE };
+
+    static final int MAGIC = 0x524E5250;
+    static final int VERSION = 2;
+    static final int END = 0xFF;
+
+    private final long seed;
+    private final int previousMask;
+    private final int gameData[];
+    private final byte data[];
+    private final int bodyOffset;
+
+    private int limit;
+    private long length = -1;
+
+    private int offset;
+    private long nextTick;
+    private int nextMask;
+    private int mask;
+
+    private Replay(byte data[]) throws IOException {
+        this.data = data;
+        this.offset = 0;
+
+        if (readInt() != MAGIC || readByte() != VERSION) {
+            throw new IOException("Not a replay file!");
+        }
+
+        this.seed = readLong();
+        this.previousMask = readByte();
+        this.gameData = new int[readByte()];
+        for (int i = 0; i < this.gameData.length; i++) {
+            this.gameData[i] = (int) readVarLong();
+        }
+
+        this.bodyOffset = this.offset;
+
+        index();
+        rewind();
+    }
+
+    public static Replay load(File file) throws IOException {
+        return new Replay(Files.readAllBytes(file.toPath()));
+    }
+
+    static GameData[] getRecordedGameData() {
+        final GameData properties[] = GameData.getPlayerProperties();
+        final GameData upgrades[] = GameData.getUpgrades();
+
+        final GameData recorded[] = Arrays.copyOf(properties, properties.length + upgrades.length);
+        System.arraycopy(upgrades, 0, recorded, properties.length, upgrades.length);
+
+        return recorded;
+    }
+
+    static int toMask(Keyboard keyboard, boolean previous) {
+        int mask = 0;
+        for (int i = 0; i < KEYS.length; i++) {
+            if (previous ? keyboard.wasHeld(KEYS[i]) : keyboard.isHeld(KEYS[i])) {
+                mask |= 1 << i;
+            }
+        }
+
+        return mask;
+    }
+
+    static void writeVarLong(OutputStream stream, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            stream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        stream.write((int) value);
+    }
+
+    public void applyGameData() {
+        final GameData recorded[] = getRecordedGameData();
+
+        for (int i = 0; i < recorded.length && i < this.gameData.length; i++) {
+            recorded[i].setValue(this.gameData[i]);
+        }
+    }
+
+    /*
+     * Key mask of the given tick, ticks have to be requested in increasing order unless rewind is
+     * called in between.
+     */
+    public int getMask(long tick) {
+        while (tick >= this.nextTick) {
+            this.mask = this.nextMask;
+            advance();
+        }
+
+        return this.mask;
+    }
+
+    public long getLength() {
+        return this.length;
+    }
+
+    public int getPreviousMask() {
+        return this.previousMask;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /*
+     * Finds the length of the run, a truncated recording ends at its last complete entry.
+     */
+    private void index() {
+        this.offset = this.bodyOffset;
+        this.limit = this.bodyOffset;
+
+        long tick = 0;
+        try {
+            while (this.offset < this.data.length) {
+                final long entryTick = tick + readVarLong();
+                final int tag = readByte();
+
+                if (tag == END) {
+                    tick = readVarLong();
+                    this.limit = this.offset;
+                    break;
+                } else {
+                    tick = entryTick;
+                }
+
+                this.limit = this.offset;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // Recording was cut off, everything before the broken entry is still valid
+        }
+
+        this.length = tick;
+    }
+
+    public void rewind() {
+        this.offset = this.bodyOffset;
+        this.mask = 0;
+        this.nextTick = 0;
+        this.nextMask = 0;
+
+        advance();
+    }
+
+    private void advance() {
+        while (this.offset < this.limit) {
+            final long tick = this.nextTick + readVarLong();
+            final int tag = readByte();
+
+            if (tag == END) {
+                break;
+            } else {
+                this.nextTick = tick;
+                this.nextMask = tag;
+                return;
+            }
+        }
+
+        this.nextTick = Long.MAX_VALUE;
+        this.nextMask = this.mask;
+        this.offset = this.limit;
+    }
+
+    private int readByte() {
+        return this.data[this.offset++] & 0xFF;
+    }
+
+    private int readInt() {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | readByte();
+        }
+
+        return value;
+    }
+
+    private long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte();
+        }
+
+        return value;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0;; shift += 7) {
+            final int b = readByte();
+
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+}
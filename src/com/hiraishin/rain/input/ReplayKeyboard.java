@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.input;
+
+import java.util.Objects;
+
+import javafx.scene.input.KeyEvent;
+
+/*
+ * Keyboard fed from a replay instead of key events, advance() has to be called before every
+ * tick of the replayed run.
+ */
+public class ReplayKeyboard extends Keyboard {
+
+    private final Replay replay;
+
+    private long tick = 0;
+
+    public ReplayKeyboard(Replay replay) {
+        this.replay = Objects.requireNonNull(replay);
+
+        rewind();
+    }
+
+    private void apply(int mask, boolean previous) {
+        for (int i = 0; i < Replay.KEYS.length; i++) {
+            if (previous) {
+                setWasHeld(Replay.KEYS[i], (mask & (1 << i)) != 0);
+            } else {
+                setHeld(Replay.KEYS[i], (mask & (1 << i)) != 0);
+            }
+        }
+    }
+
+    public void advance() {
+        apply(this.replay.getMask(this.tick++), false);
+    }
+
+    public Replay getReplay() {
+        return this.replay;
+    }
+
+    public long getTick() {
+        return this.tick;
+    }
+
+    @Override
+    public void handle(KeyEvent keyEvent) {
+        keyEvent.consume();
+    }
+
+    public boolean isFinished() {
+        return this.tick >= this.replay.getLength();
+    }
+
+    public void rewind() {
+        this.replay.rewind();
+
+        apply(this.replay.getPreviousMask(), true);
+        apply(this.replay.getPreviousMask(), false);
+
+        this.tick = 0;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.input;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Objects;
+
+import com.hiraishin.rain.level.GameData;
+
+public class ReplayRecorder implements Closeable {
+
+    private static final int FLUSH_INTERVAL = 3600;
+
+    private final DataOutputStream stream;
+    private final Keyboard keyboard;
+
+    private long tick = 0;
+    private long lastEntryTick = 0;
+    private int lastMask = -1;
+    private boolean failed = false;
+
+    public ReplayRecorder(File file, long seed, Keyboard keyboard) throws IOException {
+        this.keyboard = Objects.requireNonNull(keyboard);
+        this.stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+        this.stream.writeInt(Replay.MAGIC);
+        this.stream.writeByte(Replay.VERSION);
+        this.stream.writeLong(seed);
+        this.stream.writeByte(Replay.toMask(keyboard, true));
+
+        final GameData recorded[] = Replay.getRecordedGameData();
+        this.stream.writeByte(recorded.length);
+        for (int i = 0; i < recorded.length; i++) {
+            Replay.writeVarLong(this.stream, recorded[i].getValue());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (!this.failed) {
+                Replay.writeVarLong(this.stream, this.tick - this.lastEntryTick);
+                this.stream.writeByte(Replay.END);
+                Replay.writeVarLong(this.stream, this.tick);
+            }
+
+            this.stream.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public long getTick() {
+        return this.tick;
+    }
+
+    /*
+     * Records the keys held during the coming tick, has to be called once before every tick.
+     */
+    public void record() {
+        if (this.failed) {
+            return;
+        }
+
+        final int mask = Replay.toMask(this.keyboard, false);
+
+        try {
+            if (mask != this.lastMask) {
+                Replay.writeVarLong(this.stream, this.tick - this.lastEntryTick);
+                this.stream.writeByte(mask);
+
+                this.lastEntryTick = this.tick;
+                this.lastMask = mask;
+            }
+
+            /* A crashed session keeps everything up to the last flush */
+            if (this.tick > 0 && this.tick % FLUSH_INTERVAL == 0) {
+                this.stream.flush();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            this.failed = true;
+        }
+
+        this.tick++;
+    }
+
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.hiraishin.rain.Collision")
+@Label("Collision Pass")
+@Description("Spatial grid rebuild and player collision checks of one tick")
+@Category({ "Rain", "Level" })
+@StackTrace(false)
+@Threshold("1 ms")
+public class CollisionEvent extends Event {
+
+    @Label("Entities")
+    public int entities;
+
+    @Label("Hits")
+    public int hits;
+
+}
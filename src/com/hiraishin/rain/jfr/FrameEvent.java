@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+@Name("com.hiraishin.rain.Frame")
+@Label("Frame")
+@Description("One animation pulse, ticks caught up and the draw that followed")
+@Category({ "Rain", "Engine" })
+@StackTrace(false)
+@Threshold("20 ms")
+public class FrameEvent extends Event {
+
+    @Label("Ticks")
+    public int ticks;
+
+    @Label("Tick Duration")
+    @Timespan
+    public long tickDuration;
+
+    @Label("Draw Duration")
+    @Timespan
+    public long drawDuration;
+
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.hiraishin.rain.Save")
+@Label("Game Data Save")
+@Description("Writing the game data file")
+@Category({ "Rain", "I/O" })
+public class SaveEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.hiraishin.rain.SkillActivation")
+@Label("Skill Activation")
+@Description("Player skill activation and its immediate effect")
+@Category({ "Rain", "Player" })
+@StackTrace(false)
+public class SkillEvent extends Event {
+
+    @Label("Skill")
+    public String skill;
+
+}
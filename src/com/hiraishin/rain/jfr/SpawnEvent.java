@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.hiraishin.rain.Spawn")
+@Label("Spawn Burst")
+@Description("One firing of a spawner")
+@Category({ "Rain", "Level" })
+@StackTrace(false)
+@Threshold("1 ms")
+public class SpawnEvent extends Event {
+
+    @Label("Spawner")
+    public String spawner;
+
+    @Label("Count")
+    public int count;
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.level;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.hiraishin.rain.entity.Entity;
+
+/*
+ * Changes requested while a level ticks. Each kind of command is kept in its own lane of plain
+ * data so that posting one allocates nothing beyond the spawned entity itself. Every lane keeps
+ * the order its commands were posted in.
+ */
+public class CommandBuffer {
+
+    public static final int STATE_GAME_OVER = 1;
+
+    private static final int INITIAL_CAPACITY = 32;
+    private static final int ACID_PARTICLE_STRIDE = 5;
+
+    private final List<Entity> entities = new ArrayList<>();
+
+    private double acidParticles[] = new double[INITIAL_CAPACITY * ACID_PARTICLE_STRIDE];
+    private int acidParticleCount = 0;
+    private int states = 0;
+
+    public void add(Entity entity) {
+        this.entities.add(entity);
+    }
+
+    public void addAcidParticle(double x, double y, double size, double dx, double dy) {
+        if ((this.acidParticleCount + 1) * ACID_PARTICLE_STRIDE > this.acidParticles.length) {
+            this.acidParticles = Arrays.copyOf(this.acidParticles, this.acidParticles.length << 1);
+        }
+
+        final int i = this.acidParticleCount++ * ACID_PARTICLE_STRIDE;
+
+        this.acidParticles[i] = x;
+        this.acidParticles[i + 1] = y;
+        this.acidParticles[i + 2] = size;
+        this.acidParticles[i + 3] = dx;
+        this.acidParticles[i + 4] = dy;
+    }
+
+    public void clear() {
+        this.entities.clear();
+        this.acidParticleCount = 0;
+        this.states = 0;
+    }
+
+    /*
+     * Moves all commands to the end of the target buffer, used to merge parallel chunks.
+     */
+    void drainTo(CommandBuffer target) {
+        for (int i = 0; i < this.entities.size(); i++) {
+            target.add(this.entities.get(i));
+        }
+
+        final int length = this.acidParticleCount * ACID_PARTICLE_STRIDE;
+
+        for (int i = 0; i < length; i += ACID_PARTICLE_STRIDE) {
+            target.addAcidParticle(this.acidParticles[i], this.acidParticles[i + 1],
+                                   this.acidParticles[i + 2], this.acidParticles[i + 3],
+                                   this.acidParticles[i + 4]);
+        }
+
+        target.states |= this.states;
+
+        clear();
+    }
+
+    /*
+     * Applies spawn commands to the level and returns the posted state changes.
+     */
+    int flush(Level level) {
+        for (int i = 0; i < this.entities.size(); i++) {
+            level.insert(this.entities.get(i));
+        }
+
+        final int length = this.acidParticleCount * ACID_PARTICLE_STRIDE;
+
+        for (int i = 0; i < length; i += ACID_PARTICLE_STRIDE) {
+            level.getAcidParticles().spawn(this.acidParticles[i], this.acidParticles[i + 1],
+                                           this.acidParticles[i + 2], this.acidParticles[i + 3],
+                                           this.acidParticles[i + 4]);
+        }
+
+        final int flushed = this.states;
+
+        clear();
+        return flushed;
+    }
+
+    public boolean isEmpty() {
+        return this.entities.isEmpty() && this.acidParticleCount == 0 && this.states == 0;
+    }
+
+    public void postState(int state) {
+        this.states |= state;
+    }
+
+    public int size() {
+        return this.entities.size() + this.acidParticleCount + Integer.bitCount(this.states);
+    }
+
+}
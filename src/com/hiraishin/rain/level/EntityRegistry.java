@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.hiraishin.rain.entity.Entity;
+import com.hiraishin.rain.entity.item.Energy;
+import com.hiraishin.rain.entity.item.Shield;
+import com.hiraishin.rain.entity.item.Star;
+import com.hiraishin.rain.entity.mob.Acid;
+import com.hiraishin.rain.entity.mob.Player;
+import com.hiraishin.rain.entity.particle.ShockParticle;
+import com.hiraishin.rain.entity.spawner.Spawner;
+import com.hiraishin.rain.graphics.Renderer;
+import com.hiraishin.rain.metrics.Counter;
+import com.hiraishin.rain.metrics.MetricsRegistry;
+import com.hiraishin.rain.util.Commons;
+
+/*
+ * Keeps one store per concrete entity type and updates each with its own loop, so every call
+ * site in here only ever sees a single receiver type.
+ */
+public class EntityRegistry {
+
+    private static final Counter KILLED = MetricsRegistry.INSTANCE
+            .counter("rain_entities_killed_total", "Dead entities removed from a level");
+
+    private final List<Acid> acids = new ArrayList<>();
+    private final List<Energy> energies = new ArrayList<>();
+    private final List<Shield> shields = new ArrayList<>();
+    private final List<Star> stars = new ArrayList<>();
+    private final List<ShockParticle> shockParticles = new ArrayList<>();
+    private final List<Spawner> spawners = new ArrayList<>();
+
+    private Player player;
+    private int culled = 0;
+
+    public void add(Entity e) {
+        if (e instanceof Acid) {
+            this.acids.add((Acid) e);
+        } else if (e instanceof Energy) {
+            this.energies.add((Energy) e);
+        } else if (e instanceof Shield) {
+            this.shields.add((Shield) e);
+        } else if (e instanceof Star) {
+            this.stars.add((Star) e);
+        } else if (e instanceof ShockParticle) {
+            this.shockParticles.add((ShockParticle) e);
+        } else if (e instanceof Spawner) {
+            this.spawners.add((Spawner) e);
+        } else if (e instanceof Player) {
+            this.player = (Player) e;
+        } else {
+            throw new IllegalArgumentException("Unknown entity type " + e.getClass().getName());
+        }
+    }
+
+    public void clear() {
+        this.player = null;
+
+        this.acids.clear();
+        this.energies.clear();
+        this.shields.clear();
+        this.stars.clear();
+        this.shockParticles.clear();
+        this.spawners.clear();
+    }
+
+    /*
+     * Mobs outside the scene, such as the ones spawned above it, are culled before submitting
+     * any draw commands.
+     */
+    public void drawMobs(Renderer renderer, double alpha) {
+        this.culled = 0;
+
+        if (Objects.nonNull(this.player) && isVisible(this.player, alpha)) {
+            this.player.draw(renderer, alpha);
+        }
+
+        for (int i = 0; i < this.acids.size(); i++) {
+            final Acid acid = this.acids.get(i);
+
+            if (isVisible(acid, alpha)) {
+                acid.draw(renderer, alpha);
+            }
+        }
+
+        for (int i = 0; i < this.energies.size(); i++) {
+            final Energy energy = this.energies.get(i);
+
+            if (isVisible(energy, alpha)) {
+                energy.draw(renderer, alpha);
+            }
+        }
+
+        for (int i = 0; i < this.shields.size(); i++) {
+            final Shield shield = this.shields.get(i);
+
+            if (isVisible(shield, alpha)) {
+                shield.draw(renderer, alpha);
+            }
+        }
+
+        for (int i = 0; i < this.stars.size(); i++) {
+            final Star star = this.stars.get(i);
+
+            if (isVisible(star, alpha)) {
+                star.draw(renderer, alpha);
+            }
+        }
+    }
+
+    public void drawParticles(Renderer renderer, double alpha) {
+        for (int i = 0; i < this.shockParticles.size(); i++) {
+            this.shockParticles.get(i).draw(renderer, alpha);
+        }
+    }
+
+    public List<Acid> getAcids() {
+        return this.acids;
+    }
+
+    /*
+     * Mobs culled by the last drawMobs.
+     */
+    public int getCulledCount() {
+        return this.culled;
+    }
+
+    public int getEnergyCount() {
+        return this.energies.size();
+    }
+
+    public int getMobCount() {
+        return (Objects.nonNull(this.player) ? 1 : 0) + this.acids.size() + this.energies.size() +
+                this.shields.size() + this.stars.size();
+    }
+
+    public int getParticleCount() {
+        return this.shockParticles.size();
+    }
+
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    public int getShieldCount() {
+        return this.shields.size();
+    }
+
+    public int getSpawnerCount() {
+        return this.spawners.size();
+    }
+
+    public int getStarCount() {
+        return this.stars.size();
+    }
+
+    /*
+     * Inserts every living mob except the player.
+     */
+    void insertMobs(SpatialGrid grid) {
+        for (int i = 0; i < this.acids.size(); i++) {
+            final Acid a = this.acids.get(i);
+
+            if (!a.isDead()) {
+                grid.insert(a);
+            }
+        }
+
+        for (int i = 0; i < this.energies.size(); i++) {
+            final Energy e = this.energies.get(i);
+
+            if (!e.isDead()) {
+                grid.insert(e);
+            }
+        }
+
+        for (int i = 0; i < this.shields.size(); i++) {
+            final Shield s = this.shields.get(i);
+
+            if (!s.isDead()) {
+                grid.insert(s);
+            }
+        }
+
+        for (int i = 0; i < this.stars.size(); i++) {
+            final Star s = this.stars.get(i);
+
+            if (!s.isDead()) {
+                grid.insert(s);
+            }
+        }
+    }
+
+    private static boolean release(Entity e) {
+        if (e.isDead()) {
+            e.dispose();
+            KILLED.increment();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private boolean isVisible(Entity e, double alpha) {
+        if (e.isVisible(alpha, 0, 0, Commons.SCENE_WIDTH, Commons.SCENE_HEIGHT)) {
+            return true;
+        }
+
+        this.culled++;
+        return false;
+    }
+
+    public void removeDead() {
+        if (Objects.nonNull(this.player) && release(this.player)) {
+            this.player = null;
+        }
+
+        this.acids.removeIf(EntityRegistry::release);
+        this.energies.removeIf(EntityRegistry::release);
+        this.shields.removeIf(EntityRegistry::release);
+        this.stars.removeIf(EntityRegistry::release);
+        this.shockParticles.removeIf(EntityRegistry::release);
+        this.spawners.removeIf(EntityRegistry::release);
+    }
+
+    public void tickAcids() {
+        for (int i = 0; i < this.acids.size(); i++) {
+            final Acid a = this.acids.get(i);
+
+            a.storePosition();
+            a.tick();
+        }
+    }
+
+    public void tickItems() {
+        for (int i = 0; i < this.energies.size(); i++) {
+            final Energy e = this.energies.get(i);
+
+            e.storePosition();
+            e.tick();
+        }
+
+        for (int i = 0; i < this.shields.size(); i++) {
+            final Shield s = this.shields.get(i);
+
+            s.storePosition();
+            s.tick();
+        }
+
+        for (int i = 0; i < this.stars.size(); i++) {
+            final Star s = this.stars.get(i);
+
+            s.storePosition();
+            s.tick();
+        }
+    }
+
+    public void tickParticles() {
+        for (int i = 0; i < this.shockParticles.size(); i++) {
+            final ShockParticle p = this.shockParticles.get(i);
+
+            p.storePosition();
+            p.tick();
+        }
+    }
+
+    public void tickPlayer() {
+        if (Objects.nonNull(this.player)) {
+            this.player.storePosition();
+            this.player.tick();
+        }
+    }
+
+}
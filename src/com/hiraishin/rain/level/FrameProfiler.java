@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.level;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+import com.hiraishin.rain.graphics.Renderer;
+import com.hiraishin.rain.util.Histogram;
+
+/*
+ * Times consecutive phases of a tick or a draw, each mark() closes the phase running since the
+ * previous mark or start(). Draw phases only time submitting commands to the renderer, the canvas
+ * work of a batching renderer is timed separately as FLUSH.
+ */
+public class FrameProfiler {
+
+    public enum Phase {
+
+        SPAWNERS("Spawners"),
+
+        MOBS("Mobs"),
+
+        COLLISIONS("Collisions"),
+
+        PARTICLES("Particles"),
+
+        PROPERTIES("Properties"),
+
+        COMPACTION("Compaction"),
+
+        BACKGROUND_DRAW("Background draw"),
+
+        PARTICLE_DRAW("Particle draw"),
+
+        MOB_DRAW("Mob draw"),
+
+        OVERLAY_DRAW("Overlay draw"),
+
+        FLUSH("Flush");
+
+        private final String name;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+    }
+
+    private final Histogram histograms[] = new Histogram[Phase.values().length];
+
+    private boolean enabled = false;
+    private long phaseStart = 0;
+
+    public FrameProfiler() {
+        for (int i = 0; i < this.histograms.length; i++) {
+            this.histograms[i] = new Histogram();
+        }
+    }
+
+    public void clear() {
+        for (Histogram h : this.histograms) {
+            h.clear();
+        }
+    }
+
+    /*
+     * Per phase p50, p99 and max in microseconds, one line each.
+     */
+    public void draw(Renderer renderer, double x, double y) {
+        renderer.fillText("Phase\t\t\tp50\tp99\tmax [us]", x, y);
+
+        for (Phase phase : Phase.values()) {
+            final Histogram h = this.histograms[phase.ordinal()];
+
+            y += 15;
+            renderer.fillText(phase.getName() + "\t\t" + h.getPercentile(50) / 1000 + "\t" +
+                    h.getPercentile(99) / 1000 + "\t" + h.getMax() / 1000, x, y);
+        }
+    }
+
+    public Histogram getHistogram(Phase phase) {
+        return this.histograms[phase.ordinal()];
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void mark(Phase phase) {
+        if (this.enabled) {
+            final long now = System.nanoTime();
+
+            this.histograms[phase.ordinal()].record(now - this.phaseStart);
+            this.phaseStart = now;
+        }
+    }
+
+    /*
+     * Records a phase timed outside of the start() and mark() sequence.
+     */
+    public void record(Phase phase, long nanos) {
+        if (this.enabled) {
+            this.histograms[phase.ordinal()].record(nanos);
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void start() {
+        if (this.enabled) {
+            this.phaseStart = System.nanoTime();
+        }
+    }
+
+    public void writeCsv(Writer writer) throws IOException {
+        final PrintWriter out = new PrintWriter(writer);
+
+        out.println("phase,count,mean_ns,p50_ns,p99_ns,max_ns");
+        for (Phase phase : Phase.values()) {
+            final Histogram h = this.histograms[phase.ordinal()];
+
+            out.println(phase.name() + "," + h.getCount() + "," + h.getMean() + "," +
+                    h.getPercentile(50) + "," + h.getPercentile(99) + "," + h.getMax());
+        }
+
+        out.flush();
+        if (out.checkError()) {
+            throw new IOException("Could not write profile");
+        }
+    }
+
+}
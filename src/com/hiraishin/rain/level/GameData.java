@@ -11,6 +11,10 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 
+import com.hiraishin.rain.jfr.SaveEvent;
+import com.hiraishin.rain.metrics.Counter;
+import com.hiraishin.rain.metrics.MetricsRegistry;
+
 public enum GameData {
 
     STAT_COUNT_EXPERIENCE(0, Integer.MAX_VALUE, "Experience gained"),
@@ -32,7 +36,12 @@ public enum GameData {
     UPGRADE_DOUBLEXP(0, 1, "Double XP Skill"),
     UPGRADE_SHIELDSPAWN(0, 1, "Shield spawn Skill");
 
-    private static final String SER_FILE = "playdata.ser";
+    private static final File SER_FILE = new File("playdata.ser");
+
+    private static final Counter SAVES = MetricsRegistry.INSTANCE
+            .counter("rain_saves_total", "Game data saves");
+    private static final Counter SAVE_NANOS = MetricsRegistry.INSTANCE
+            .counter("rain_save_nanos_total", "Time spent saving game data");
 
     private final int min;
     private final int max;
@@ -54,12 +63,35 @@ public enum GameData {
                 UPGRADE_DOUBLEXP, UPGRADE_SHIELDSPAWN };
     }
 
+    /*
+     * Current value of every entry in declaration order, setValues() puts them back.
+     */
+    public static int[] getValues() {
+        final int values[] = new int[GameData.values().length];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = GameData.values()[i].value;
+        }
+
+        return values;
+    }
+
+    public static void setValues(int values[]) {
+        for (int i = 0; i < values.length && i < GameData.values().length; i++) {
+            GameData.values()[i].setValue(values[i]);
+        }
+    }
+
     public static void load() {
+        load(SER_FILE);
+    }
+
+    public static void load(File file) {
         try {
-            read(SER_FILE);
+            read(file);
         } catch (Exception e) {
             try {
-                write(SER_FILE);
+                write(file);
             } catch (Exception f) {
                 f.printStackTrace();
             }
@@ -67,15 +99,33 @@ public enum GameData {
     }
 
     public static void save() {
+        save(SER_FILE);
+    }
+
+    public static void save(File file) {
+        final SaveEvent event = new SaveEvent();
+        final long start = System.nanoTime();
+
+        event.begin();
         try {
-            write(SER_FILE);
+            write(file);
+            event.succeeded = true;
         } catch (Exception e) {
             e.printStackTrace();
         }
+
+        event.end();
+        SAVES.increment();
+        SAVE_NANOS.add(System.nanoTime() - start);
+
+        if (event.shouldCommit()) {
+            event.file = file.getPath();
+            event.commit();
+        }
     }
 
-    private static void read(String file) throws ClassNotFoundException, IOException {
-        FileInputStream fiStream = new FileInputStream(new File(file));
+    private static void read(File file) throws ClassNotFoundException, IOException {
+        FileInputStream fiStream = new FileInputStream(file);
         ObjectInputStream oiStream = new ObjectInputStream(fiStream);
 
         for (int i = 0; i < GameData.values().length; i++) {
@@ -93,8 +143,8 @@ public enum GameData {
         fiStream.close();
     }
 
-    private static void write(String file) throws IOException {
-        FileOutputStream foStream = new FileOutputStream(new File(file), false);
+    private static void write(File file) throws IOException {
+        FileOutputStream foStream = new FileOutputStream(file, false);
         ObjectOutputStream ooStream = new ObjectOutputStream(foStream);
         ooStream.reset();
 
@@ -4,47 +4,69 @@
 
 package com.hiraishin.rain.level;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
+import java.util.SplittableRandom;
 
 import com.hiraishin.rain.Application;
 import com.hiraishin.rain.entity.Entity;
-import com.hiraishin.rain.entity.item.Item;
-import com.hiraishin.rain.entity.mob.Mob;
 import com.hiraishin.rain.entity.mob.Player;
-import com.hiraishin.rain.entity.particle.Particle;
-import com.hiraishin.rain.entity.particle.RainParticle;
+import com.hiraishin.rain.entity.particle.AcidParticleSystem;
+import com.hiraishin.rain.entity.particle.RainParticleSystem;
 import com.hiraishin.rain.entity.spawner.AcidSpawner;
 import com.hiraishin.rain.entity.spawner.ArmorSpawner;
 import com.hiraishin.rain.entity.spawner.EnergySpawner;
 import com.hiraishin.rain.entity.spawner.RainSpawner;
-import com.hiraishin.rain.entity.spawner.Spawner;
 import com.hiraishin.rain.entity.spawner.StarSpawner;
+import com.hiraishin.rain.graphics.Layer;
 import com.hiraishin.rain.graphics.Overlay;
+import com.hiraishin.rain.graphics.PixelLayer;
+import com.hiraishin.rain.graphics.Renderer;
 import com.hiraishin.rain.input.Keyboard;
+import com.hiraishin.rain.jfr.CollisionEvent;
+import com.hiraishin.rain.level.FrameProfiler.Phase;
 import com.hiraishin.rain.level.player.PlayerProperties;
+import com.hiraishin.rain.metrics.Counter;
+import com.hiraishin.rain.metrics.MetricsRegistry;
 import com.hiraishin.rain.util.Commons;
 import com.hiraishin.rain.util.ImageLoader;
+import com.hiraishin.rain.util.TimingWheel;
 
-import javafx.application.Platform;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 
 public class Level {
 
-    private final List<Entity> mobs = new ArrayList<>();
-    private final List<Entity> particles = new ArrayList<>();
-    private final List<Spawner> spawners = new ArrayList<>();
+    public static final double GRID_CELL_SIZE = 50;
+
+    private static final Counter SPAWNED = MetricsRegistry.INSTANCE
+            .counter("rain_entities_spawned_total", "Entities added to a level");
+
+    private final EntityRegistry entities = new EntityRegistry();
+    private final RainParticleSystem rainParticles = new RainParticleSystem(this);
+    private final AcidParticleSystem acidParticles = new AcidParticleSystem(this);
     private final Image background = ImageLoader.INSTANCE.getImage("background/background");
+    private final SpatialGrid grid = new SpatialGrid(Commons.SCENE_WIDTH, Commons.SCENE_HEIGHT,
+                                                     GRID_CELL_SIZE);
+    private final CommandBuffer commands = new CommandBuffer();
+    private final TimingWheel timingWheel = new TimingWheel();
+    private final FrameProfiler profiler = new FrameProfiler();
     private final Keyboard keyboard;
+    private final SplittableRandom seedSource;
     private final LevelController levelController = new LevelController(this);
+    private final RainSpawner rainSpawner;
 
     private PlayerProperties properties;
     private Overlay overlay;
+    private ParallelUpdater parallelUpdater;
+    private PixelLayer rainLayer;
+    private SplittableRandom random;
+    private Quality quality = Quality.HIGH;
+    private long seed;
     private boolean paused = false;
     private boolean played = false;
+    private boolean ticking = false;
+    private boolean hudDirty = true;
+    private boolean persistent = true;
 
     public class LevelController {
 
@@ -105,108 +127,319 @@ public class Level {
             }
         }
 
-        public void update(GraphicsContext gc) {
+        public void draw(Renderer renderer, double alpha) {
+            this.level.draw(renderer, this.level.paused ? 1 : alpha);
+        }
+
+        public void tick() {
             this.level.tick();
-            this.level.draw(gc);
         }
 
     }
 
     public Level(Keyboard keyboard) {
+        this(keyboard, System.nanoTime());
+    }
+
+    public Level(Keyboard keyboard, long seed) {
         this.keyboard = keyboard;
+        this.seedSource = new SplittableRandom(seed);
+        this.seed = this.seedSource.nextLong();
+        this.random = new SplittableRandom(this.seed);
+        this.profiler.setEnabled(Application.DEBUG_MODE);
 
-        this.spawners.add(new RainSpawner(0, -20, Commons.SCENE_WIDTH, 0, this, 0, 0, 5));
+        this.rainSpawner = new RainSpawner(0, -20, Commons.SCENE_WIDTH, 0, this, 0, 0,
+                                           this.quality.getRainCount());
     }
 
+    /*
+     * Entities added while the level ticks are deferred to the end of the tick.
+     */
     public void add(Entity e) {
-        if (e instanceof Mob || e instanceof Item) {
-            this.mobs.add(e);
-        } else if (e instanceof Particle) {
-            this.particles.add(e);
-        } else if (e instanceof Spawner) {
-            this.spawners.add((Spawner) e);
+        if (this.ticking) {
+            getCommandBuffer().add(e);
+        } else {
+            insert(e);
         }
     }
 
-    private void draw(GraphicsContext gc) {
-        gc.drawImage(this.background, 0, 0, Commons.SCENE_WIDTH, Commons.SCENE_HEIGHT);
+    void insert(Entity e) {
+        this.entities.add(e);
+        SPAWNED.increment();
+    }
 
-        for (Entity p : this.particles) {
-            p.draw(gc);
-        }
+    private void draw(Renderer renderer, double alpha) {
+        this.profiler.start();
 
-        for (Entity m : this.mobs) {
-            m.draw(gc);
+        renderer.setLayer(Layer.BACKGROUND);
+        if (renderer.isDue(Layer.BACKGROUND)) {
+            renderer.drawImage(this.background, 0, 0, Commons.SCENE_WIDTH,
+                               Commons.SCENE_HEIGHT);
+        }
+        this.profiler.mark(Phase.BACKGROUND_DRAW);
+
+        renderer.setLayer(Layer.PARTICLES);
+        if (Objects.nonNull(this.rainLayer)) {
+            this.rainLayer.clear();
+            this.rainParticles.rasterize(this.rainLayer, alpha);
+            this.rainLayer.draw(renderer, alpha);
+        } else {
+            this.rainParticles.draw(renderer, alpha);
+        }
+        this.acidParticles.draw(renderer, alpha);
+        this.entities.drawParticles(renderer, alpha);
+        this.profiler.mark(Phase.PARTICLE_DRAW);
+
+        renderer.setLayer(Layer.MOBS);
+        this.entities.drawMobs(renderer, alpha);
+        this.profiler.mark(Phase.MOB_DRAW);
+
+        renderer.setLayer(Layer.HUD);
+        if (this.hudDirty || Objects.nonNull(this.overlay) && this.overlay.isDirty()) {
+            renderer.invalidate(Layer.HUD);
+            this.hudDirty = false;
         }
 
-        if (Objects.nonNull(this.overlay)) {
-            this.overlay.draw(gc);
+        if (Objects.nonNull(this.overlay) && renderer.isDue(Layer.HUD)) {
+            this.overlay.draw(renderer, alpha);
         }
+        this.profiler.mark(Phase.OVERLAY_DRAW);
 
-        if (Application.DEBUG_MODE) {
-            gc.setFill(Color.WHITE);
-            gc.fillText("Spawners\t\t: " + this.spawners.size(), 20, 150);
-            gc.fillText("Mobs\t\t: " + this.mobs.size(), 20, 165);
-            gc.fillText("Particles\t\t: " + this.particles.size(), 20, 180);
+        if (Application.DEBUG_MODE && renderer.isDue(Layer.DEBUG)) {
+            renderer.setLayer(Layer.DEBUG);
+            renderer.setFill(Color.WHITE);
+            this.profiler.draw(renderer, 620, 150);
 
-            gc.fillText("isPlayed\t\t: " + this.played, 20, 210);
-            gc.fillText("isPaused\t\t: " + this.paused, 20, 225);
+            renderer.fillText("Spawners\t\t: " + (this.entities.getSpawnerCount() + 1), 20, 150);
+            renderer.fillText("Mobs\t\t: " + this.entities.getMobCount(), 20, 165);
+            renderer.fillText("Particles\t\t: " + (this.entities.getParticleCount() +
+                    this.rainParticles.size() + this.acidParticles.size()), 20, 180);
+            renderer.fillText("Culled\t\t: " + this.entities.getCulledCount(), 20, 195);
 
-            gc.fillText("isPlayer\t\t: " + Objects.nonNull(getPlayer()), 20, 255);
+            renderer.fillText("isPlayed\t\t: " + this.played, 20, 210);
+            renderer.fillText("isPaused\t\t: " + this.paused, 20, 225);
+
+            renderer.fillText("isPlayer\t\t: " + Objects.nonNull(getPlayer()), 20, 255);
             if (Objects.nonNull(this.properties)) {
-                gc.fillText("Health\t\t: " + this.properties.getHealth(), 20, 270);
-                gc.fillText("Shield\t\t: " + this.properties.getArmorProperty().intValue(), 20,
-                            285);
-                gc.fillText("Energy\t\t: " + this.properties.getEnergyProperty().intValue(), 20,
-                            300);
-                gc.fillText("Level\t\t: " + this.properties.getLevelProperty().intValue(), 20, 315);
-                gc.fillText("Experience\t: " + this.properties.getExperienceProperty().intValue(),
-                            20, 330);
+                renderer.fillText("Health\t\t: " + this.properties.getHealth(), 20, 270);
+                renderer.fillText("Shield\t\t: " + this.properties.getArmorProperty().intValue(),
+                                  20, 285);
+                renderer.fillText("Energy\t\t: " + this.properties.getEnergyProperty().intValue(),
+                                  20, 300);
+                renderer.fillText("Level\t\t: " + this.properties.getLevelProperty().intValue(),
+                                  20, 315);
+                renderer.fillText("Experience\t: " +
+                        this.properties.getExperienceProperty().intValue(), 20, 330);
             }
         }
     }
 
+    public AcidParticleSystem getAcidParticles() {
+        return this.acidParticles;
+    }
+
+    /*
+     * Buffer of the running tick, inside a parallel chunk this is the chunk's own buffer.
+     */
+    public CommandBuffer getCommandBuffer() {
+        if (Objects.nonNull(this.parallelUpdater)) {
+            final ParallelUpdater.Chunk chunk = this.parallelUpdater.getActiveChunk();
+
+            if (Objects.nonNull(chunk)) {
+                return chunk.getCommands();
+            }
+        }
+
+        return this.commands;
+    }
+
     public LevelController getLevelController() {
         return this.levelController;
     }
 
-    public List<Entity> getMobs() {
-        return mobs.subList(1, mobs.size());
+    public EntityRegistry getEntities() {
+        return this.entities;
     }
 
     public Player getPlayer() {
-        return (this.mobs.size() > 0) ? (Player) this.mobs.get(0) : null;
+        return this.entities.getPlayer();
+    }
+
+    /*
+     * Random stream of the current run, not safe to draw from inside a parallel mob update.
+     */
+    public SplittableRandom getRandom() {
+        return this.random;
+    }
+
+    public Quality getQuality() {
+        return this.quality;
+    }
+
+    public FrameProfiler getProfiler() {
+        return this.profiler;
+    }
+
+    public RainParticleSystem getRainParticles() {
+        return this.rainParticles;
     }
 
     public PlayerProperties getPlayerProperties() {
         return this.properties;
     }
 
-    public boolean isCollidingPlayerAABB(Entity entity) {
-        return Objects.nonNull(getPlayer()) ? getPlayer().isCollidingAABB(entity) : false;
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public SpatialGrid getSpatialGrid() {
+        return this.grid;
+    }
+
+    /*
+     * Scheduler of everything counted in ticks, it only advances while the level is unpaused.
+     */
+    public TimingWheel getTimingWheel() {
+        return this.timingWheel;
+    }
+
+    public boolean isPixelRain() {
+        return Objects.nonNull(this.rainLayer);
+    }
+
+    public boolean isParallel() {
+        return Objects.nonNull(this.parallelUpdater);
+    }
+
+    /*
+     * Seed of the current run, or of the next one when no run is in progress.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
     }
 
+    /*
+     * Non persistent levels do not save game data when a run ends, used for replays.
+     */
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    public void setQuality(Quality quality) {
+        this.quality = Objects.requireNonNull(quality);
+        this.rainSpawner.setCount(quality.getRainCount());
+    }
+
+    /*
+     * Pixel rain is rasterized into a buffer composited with one image draw, the cost per frame
+     * no longer depends on the number of drops.
+     */
+    public void setPixelRain(boolean pixelRain) {
+        this.rainLayer = pixelRain ? new PixelLayer((int) Commons.SCENE_WIDTH,
+                                                    (int) Commons.SCENE_HEIGHT,
+                                                    Application.RENDER_SCALE) : null;
+    }
+
+    public void setParallel(boolean parallel) {
+        if (parallel && Objects.isNull(this.parallelUpdater)) {
+            this.parallelUpdater = new ParallelUpdater();
+        } else if (!parallel && Objects.nonNull(this.parallelUpdater)) {
+            this.parallelUpdater.shutdown();
+            this.parallelUpdater = null;
+        }
+    }
+
+    public void spawnAcidParticle(double x, double y, double size, double dx, double dy) {
+        if (this.ticking) {
+            getCommandBuffer().addAcidParticle(x, y, size, dx, dy);
+        } else {
+            this.acidParticles.spawn(x, y, size, dx, dy);
+        }
+    }
+
+    /*
+     * Commands posted during the tick are applied once every phase has run and the dead have
+     * been removed, so no list is mutated while it is being iterated.
+     */
     private void tick() {
         if (!this.paused) {
-            for (Spawner s : this.spawners) {
-                s.tick();
-            }
+            this.ticking = true;
+            this.profiler.start();
+
+            this.timingWheel.advance();
+            this.profiler.mark(Phase.SPAWNERS);
+
+            this.entities.tickPlayer();
 
-            for (Entity m : this.mobs) {
-                m.tick();
+            if (Objects.nonNull(this.parallelUpdater)) {
+                this.parallelUpdater.tickMobs(this, this.entities.getAcids());
+            } else {
+                this.entities.tickAcids();
             }
 
-            for (Entity p : this.particles) {
-                p.tick();
+            this.entities.tickItems();
+            this.profiler.mark(Phase.MOBS);
+
+            updateGrid();
+            this.profiler.mark(Phase.COLLISIONS);
+
+            this.entities.tickParticles();
+
+            if (Objects.nonNull(this.parallelUpdater)) {
+                this.parallelUpdater.tickParticles(this.rainParticles);
+                this.parallelUpdater.tickParticles(this.acidParticles);
+            } else {
+                this.rainParticles.tick();
+                this.acidParticles.tick();
             }
+            this.profiler.mark(Phase.PARTICLES);
 
             if (Objects.nonNull(this.properties)) {
                 this.properties.tick();
             }
+            this.profiler.mark(Phase.PROPERTIES);
+
+            this.entities.removeDead();
+
+            this.ticking = false;
+
+            final int states = this.commands.flush(this);
+            this.profiler.mark(Phase.COMPACTION);
+
+            if ((states & CommandBuffer.STATE_GAME_OVER) != 0) {
+                if (this.persistent) {
+                    GameData.save();
+                }
+
+                stop();
+            }
+        }
+    }
+
+    /*
+     * Rebuilds the grid from all living mobs except the player and resolves player collisions
+     * against the cells the player overlaps.
+     */
+    private void updateGrid() {
+        final CollisionEvent event = new CollisionEvent();
+        final Player player = getPlayer();
+
+        event.begin();
 
-            this.mobs.removeIf(Entity::isDead);
-            this.particles.removeIf(Entity::isDead);
-            this.spawners.removeIf(Entity::isDead);
+        this.grid.clear();
+        this.entities.insertMobs(this.grid);
+
+        int hits = 0;
+        if (Objects.nonNull(player)) {
+            hits = this.grid.forEachInAABB(player.getX(), player.getY(), player.getWidth(),
+                                           player.getHeight(), Entity::onPlayerCollision);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.entities = this.grid.size();
+            event.hits = hits;
+            event.commit();
         }
     }
 
@@ -214,28 +447,31 @@ public class Level {
         this.paused = false;
         this.played = true;
 
-        this.properties = new PlayerProperties();
+        this.random = new SplittableRandom(this.seed);
+        this.rainSpawner.setRandom(this.random.split());
+        this.rainParticles.setRandom(this.random.split());
+        this.acidParticles.setRandom(this.random.split());
+
+        this.properties = new PlayerProperties(this.timingWheel);
         this.overlay = new Overlay(0, 0, this.properties);
+        this.hudDirty = true;
 
-        this.mobs.add(new Player((Commons.SCENE_WIDTH - Player.WIDTH) / 2, Commons.SCENE_GROUND,
+        this.entities.add(new Player((Commons.SCENE_WIDTH - Player.WIDTH) / 2, Commons.SCENE_GROUND,
                                  this, this.keyboard, this.properties));
 
-        this.spawners.add(new AcidSpawner(0, -50, Commons.SCENE_WIDTH, 0, this, 10, 5, 2));
-        this.spawners.add(new ArmorSpawner(0, -50, Commons.SCENE_WIDTH, 0, this,
+        this.entities.add(new AcidSpawner(0, -50, Commons.SCENE_WIDTH, 0, this, 10, 5, 2));
+        this.entities.add(new ArmorSpawner(0, -50, Commons.SCENE_WIDTH, 0, this,
                                            Timescale.TICKS_PER_MINUTE >> 1,
                                            10 * Timescale.TICKS_PER_SECOND, 1));
-        this.spawners
-                .add(new EnergySpawner(0, -50, Commons.SCENE_WIDTH, 0, this,
-                                       Timescale.TICKS_PER_SECOND, Timescale.TICKS_PER_SECOND, 1));
-        this.spawners.add(new StarSpawner(0, -50, Commons.SCENE_WIDTH, 0, this,
+        this.entities.add(new EnergySpawner(0, -50, Commons.SCENE_WIDTH, 0, this,
+                                            Timescale.TICKS_PER_SECOND,
+                                            Timescale.TICKS_PER_SECOND, 1));
+        this.entities.add(new StarSpawner(0, -50, Commons.SCENE_WIDTH, 0, this,
                                           20 * Timescale.TICKS_PER_SECOND, 0, 1));
 
         this.properties.getHealthProperty().addListener((Observable, OldValue, NewValue) -> {
             if (NewValue.intValue() <= 0) {
-                Platform.runLater(() -> {
-                    GameData.save();
-                    stop();
-                });
+                getCommandBuffer().postState(CommandBuffer.STATE_GAME_OVER);
             }
         });
     }
@@ -243,14 +479,19 @@ public class Level {
     private void stop() {
         this.paused = false;
         this.played = false;
+        this.seed = this.seedSource.nextLong();
 
         this.levelController.hasClosedFlag = true;
 
         this.properties = null;
         this.overlay = null;
-
-        this.mobs.clear();
-        this.spawners.subList(1, spawners.size()).clear();
-        this.particles.removeIf(E -> !(E instanceof RainParticle));
+        this.hudDirty = true;
+
+        this.entities.clear();
+        this.grid.clear();
+        this.timingWheel.clear();
+        this.rainSpawner.restart();
+        this.acidParticles.clear();
+        this.commands.clear();
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.hiraishin.rain.entity.Entity;
+import com.hiraishin.rain.entity.particle.ParticleSystem;
+
+/*
+ * Splits mob and particle updates into fixed size chunks run on a fork-join pool. Entities in a
+ * chunk only read their own state and state captured before the phase, everything they would
+ * add to the level goes through the chunk's CommandBuffer, which are merged into the level's
+ * buffer in chunk order so the result does not depend on scheduling. Mobs never draw from the
+ * level's random stream while ticking, they carry their own.
+ */
+class ParallelUpdater {
+
+    public static final int MOB_CHUNK_SIZE = 256;
+    public static final int PARTICLE_CHUNK_SIZE = 4096;
+
+    private final ForkJoinPool pool = new ForkJoinPool();
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final ThreadLocal<Chunk> activeChunk = new ThreadLocal<>();
+
+    static final class Chunk {
+
+        private final CommandBuffer commands = new CommandBuffer();
+
+        CommandBuffer getCommands() {
+            return this.commands;
+        }
+
+    }
+
+    Chunk getActiveChunk() {
+        return this.activeChunk.get();
+    }
+
+    /*
+     * Stops the pool's workers, the updater cannot be used afterwards.
+     */
+    void shutdown() {
+        this.pool.shutdown();
+    }
+
+    void tickMobs(Level level, List<? extends Entity> mobs) {
+        final int chunks = (mobs.size() + MOB_CHUNK_SIZE - 1) / MOB_CHUNK_SIZE;
+        if (chunks <= 1) {
+            for (int i = 0; i < mobs.size(); i++) {
+                mobs.get(i).storePosition();
+                mobs.get(i).tick();
+            }
+
+            return;
+        }
+
+        while (this.chunks.size() < chunks) {
+            this.chunks.add(new Chunk());
+        }
+
+        this.pool.invoke(new ChunkAction(0, mobs.size(), MOB_CHUNK_SIZE, (start, end) -> {
+            this.activeChunk.set(this.chunks.get(start / MOB_CHUNK_SIZE));
+            try {
+                for (int i = start; i < end; i++) {
+                    final Entity m = mobs.get(i);
+
+                    m.storePosition();
+                    m.tick();
+                }
+            } finally {
+                this.activeChunk.remove();
+            }
+        }));
+
+        for (int i = 0; i < chunks; i++) {
+            this.chunks.get(i).commands.drainTo(level.getCommandBuffer());
+        }
+    }
+
+    void tickParticles(ParticleSystem system) {
+        if (system.size() <= PARTICLE_CHUNK_SIZE) {
+            system.tick();
+            return;
+        }
+
+        system.prepare();
+
+        this.pool.invoke(new ChunkAction(0, system.size(), PARTICLE_CHUNK_SIZE, system::tick));
+
+        system.compact();
+    }
+
+    private interface RangeConsumer {
+
+        void accept(int from, int to);
+
+    }
+
+    private static final class ChunkAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final RangeConsumer body;
+
+        private ChunkAction(int from, int to, int chunkSize, RangeConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            final int chunks = (this.to - this.from + this.chunkSize - 1) / this.chunkSize;
+
+            if (chunks <= 1) {
+                if (this.from < this.to) {
+                    this.body.accept(this.from, this.to);
+                }
+            } else {
+                final int middle = this.from + (chunks >> 1) * this.chunkSize;
+
+                invokeAll(new ChunkAction(this.from, middle, this.chunkSize, this.body),
+                          new ChunkAction(middle, this.to, this.chunkSize, this.body));
+            }
+        }
+
+    }
+
+}
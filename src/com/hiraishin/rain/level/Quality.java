@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.level;
+
+import com.hiraishin.rain.entity.mob.Acid;
+
+/*
+ * Cosmetic load of a level, ordered from the cheapest to the full detail. Nothing here may
+ * change the outcome of a tick.
+ */
+public enum Quality {
+
+    MINIMAL(1, 1, false),
+
+    LOW(2, 2, false),
+
+    MEDIUM(3, 3, true),
+
+    HIGH(5, Acid.PARTICLE_COUNT, true);
+
+    private final int rainCount;
+    private final int splashCount;
+    private final boolean debugDrawing;
+
+    private Quality(int rainCount, int splashCount, boolean debugDrawing) {
+        this.rainCount = rainCount;
+        this.splashCount = splashCount;
+        this.debugDrawing = debugDrawing;
+    }
+
+    public int getRainCount() {
+        return this.rainCount;
+    }
+
+    public int getSplashCount() {
+        return this.splashCount;
+    }
+
+    public boolean hasDebugDrawing() {
+        return this.debugDrawing;
+    }
+
+    public Quality lower() {
+        return (ordinal() > 0) ? values()[ordinal() - 1] : this;
+    }
+
+    public Quality higher() {
+        return (ordinal() + 1 < values().length) ? values()[ordinal() + 1] : this;
+    }
+
+}
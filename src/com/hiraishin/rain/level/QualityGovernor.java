@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.level;
+
+/*
+ * Steps the quality down as soon as a window of frames averages over the budget or misses too
+ * many vsyncs, and only steps it back up after several windows in a row leave plenty of headroom
+ * without a miss, so it does not flicker between two levels. Misses catch the cost of rendering
+ * that happens off the FX thread and never shows up in the measured frame time.
+ */
+public class QualityGovernor {
+
+    public static final long DEFAULT_BUDGET = Timescale.NANOS_PER_TICK * 3 / 4;
+    public static final int WINDOW_FRAMES = 60;
+    public static final int DOWNGRADE_WINDOWS = 1;
+    public static final int UPGRADE_WINDOWS = 5;
+    public static final double UPGRADE_HEADROOM = 0.5;
+    public static final int MAX_MISSED_VSYNCS = WINDOW_FRAMES / 10;
+
+    private final long budget;
+
+    private Quality quality = Quality.HIGH;
+    private long windowNanos = 0;
+    private int windowFrames = 0;
+    private int windowMissedVsyncs = 0;
+    private int overBudgetWindows = 0;
+    private int underBudgetWindows = 0;
+    private long lastTickNanos = 0;
+    private long lastDrawNanos = 0;
+
+    public QualityGovernor() {
+        this(DEFAULT_BUDGET);
+    }
+
+    public QualityGovernor(long budget) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("Frame budget has to be positive!");
+        }
+
+        this.budget = budget;
+    }
+
+    public long getBudget() {
+        return this.budget;
+    }
+
+    public long getLastDrawNanos() {
+        return this.lastDrawNanos;
+    }
+
+    public long getLastTickNanos() {
+        return this.lastTickNanos;
+    }
+
+    public Quality getQuality() {
+        return this.quality;
+    }
+
+    /*
+     * Takes the time one frame spent ticking and drawing and whether it missed its vsync,
+     * returns true when the quality changed.
+     */
+    public boolean sample(long tickNanos, long drawNanos, boolean missedVsync) {
+        this.lastTickNanos = tickNanos;
+        this.lastDrawNanos = drawNanos;
+        this.windowNanos += tickNanos + drawNanos;
+
+        if (missedVsync) {
+            this.windowMissedVsyncs++;
+        }
+
+        if (++this.windowFrames < WINDOW_FRAMES) {
+            return false;
+        }
+
+        final long average = this.windowNanos / this.windowFrames;
+        final int missedVsyncs = this.windowMissedVsyncs;
+
+        this.windowNanos = 0;
+        this.windowFrames = 0;
+        this.windowMissedVsyncs = 0;
+
+        if (average > this.budget || missedVsyncs > MAX_MISSED_VSYNCS) {
+            this.underBudgetWindows = 0;
+            if (++this.overBudgetWindows >= DOWNGRADE_WINDOWS) {
+                return setQuality(this.quality.lower());
+            }
+        } else if (average < this.budget * UPGRADE_HEADROOM && missedVsyncs == 0) {
+            this.overBudgetWindows = 0;
+            if (++this.underBudgetWindows >= UPGRADE_WINDOWS) {
+                return setQuality(this.quality.higher());
+            }
+        } else {
+            this.overBudgetWindows = 0;
+            this.underBudgetWindows = 0;
+        }
+
+        return false;
+    }
+
+    private boolean setQuality(Quality quality) {
+        this.overBudgetWindows = 0;
+        this.underBudgetWindows = 0;
+
+        if (quality == this.quality) {
+            return false;
+        }
+
+        this.quality = quality;
+        return true;
+    }
+
+}
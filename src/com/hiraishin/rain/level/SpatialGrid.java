@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.level;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import com.hiraishin.rain.entity.Entity;
+
+public class SpatialGrid {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int cellHeads[];
+
+    private Entity entries[] = new Entity[INITIAL_CAPACITY];
+    private int next[] = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    private double maxHalfWidth = 0;
+    private double maxHalfHeight = 0;
+
+    public SpatialGrid(double width, double height, double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Grid cell size has to be positive!");
+        }
+
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellHeads = new int[this.columns * this.rows];
+
+        Arrays.fill(this.cellHeads, -1);
+    }
+
+    private int toColumn(double x) {
+        return Math.min(this.columns - 1, Math.max(0, (int) (x / this.cellSize)));
+    }
+
+    private int toRow(double y) {
+        return Math.min(this.rows - 1, Math.max(0, (int) (y / this.cellSize)));
+    }
+
+    public void clear() {
+        Arrays.fill(this.cellHeads, -1);
+        Arrays.fill(this.entries, 0, this.size, null);
+
+        this.size = 0;
+        this.maxHalfWidth = 0;
+        this.maxHalfHeight = 0;
+    }
+
+    /*
+     * Entities are bucketed by their center only, queries widen their cell range by the largest
+     * half extent inserted so far so that no entity is reported twice.
+     */
+    public void insert(Entity entity) {
+        if (this.size == this.entries.length) {
+            this.entries = Arrays.copyOf(this.entries, this.size << 1);
+            this.next = Arrays.copyOf(this.next, this.size << 1);
+        }
+
+        final int cell = toRow(entity.getCenterY()) * this.columns + toColumn(entity.getCenterX());
+
+        this.entries[this.size] = entity;
+        this.next[this.size] = this.cellHeads[cell];
+        this.cellHeads[cell] = this.size++;
+
+        this.maxHalfWidth = Math.max(this.maxHalfWidth, entity.getWidth() / 2);
+        this.maxHalfHeight = Math.max(this.maxHalfHeight, entity.getHeight() / 2);
+    }
+
+    /*
+     * Queries return how many entities were passed to the action.
+     */
+    public int forEachInAABB(double x, double y, double width, double height,
+                             Consumer<? super Entity> action) {
+        final int colMin = toColumn(x - this.maxHalfWidth);
+        final int colMax = toColumn(x + width + this.maxHalfWidth);
+        final int rowMin = toRow(y - this.maxHalfHeight);
+        final int rowMax = toRow(y + height + this.maxHalfHeight);
+
+        int hits = 0;
+        for (int row = rowMin; row <= rowMax; row++) {
+            for (int col = colMin; col <= colMax; col++) {
+                for (int i = this.cellHeads[row * this.columns + col]; i >= 0; i = this.next[i]) {
+                    final Entity e = this.entries[i];
+
+                    if (e.getX() + e.getWidth() > x && x + width > e.getX() &&
+                            e.getY() + e.getHeight() > y && y + height > e.getY()) {
+                        action.accept(e);
+                        hits++;
+                    }
+                }
+            }
+        }
+
+        return hits;
+    }
+
+    public int forEachInRadius(double x, double y, double radius,
+                               Consumer<? super Entity> action) {
+        final int colMin = toColumn(x - radius - this.maxHalfWidth);
+        final int colMax = toColumn(x + radius + this.maxHalfWidth);
+        final int rowMin = toRow(y - radius - this.maxHalfHeight);
+        final int rowMax = toRow(y + radius + this.maxHalfHeight);
+        final double radiusSquared = radius * radius;
+
+        int hits = 0;
+        for (int row = rowMin; row <= rowMax; row++) {
+            for (int col = colMin; col <= colMax; col++) {
+                for (int i = this.cellHeads[row * this.columns + col]; i >= 0; i = this.next[i]) {
+                    final Entity e = this.entries[i];
+
+                    if (e.getDistanceSquared(x, y) <= radiusSquared) {
+                        action.accept(e);
+                        hits++;
+                    }
+                }
+            }
+        }
+
+        return hits;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+}
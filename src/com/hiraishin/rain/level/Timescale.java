@@ -8,5 +8,7 @@ public class Timescale {
 
     public static final int TICKS_PER_SECOND = 60;
     public static final int TICKS_PER_MINUTE = 60 * TICKS_PER_SECOND;
+    public static final long NANOS_PER_TICK = 1_000_000_000L / TICKS_PER_SECOND;
+    public static final int MAX_TICKS_PER_FRAME = 10;
 
 }
@@ -7,8 +7,11 @@ package com.hiraishin.rain.level.player;
 import java.util.Objects;
 
 import com.hiraishin.rain.entity.Entity;
+import com.hiraishin.rain.jfr.SkillEvent;
 import com.hiraishin.rain.level.GameData;
 import com.hiraishin.rain.level.Level;
+import com.hiraishin.rain.util.TimingWheel;
+import com.hiraishin.rain.util.WheelTimer;
 
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -25,16 +28,18 @@ public class PlayerProperties {
     private final IntegerProperty experienceProperty = new SimpleIntegerProperty(0);
     private final IntegerProperty energyProperty = new SimpleIntegerProperty(0);
     private final int energyRate;
+    private final TimingWheel timingWheel;
+    private final WheelTimer skillTimer = new WheelTimer(this::endSkill);
+    private final WheelTimer boostTimer = new WheelTimer(this::endBoost);
 
     private boolean skillActive = false;
-    private boolean boostActive = false;
-    private int skillBurnout = 0;
-    private int boostBurnout = 0;
     private int experience = 0;
     private int experienceMultiplier = EXP_RATE;
     private Skill selectedSkill = null;
 
-    public PlayerProperties() {
+    public PlayerProperties(TimingWheel timingWheel) {
+        this.timingWheel = Objects.requireNonNull(timingWheel);
+
         healthProperty.set(GameData.PLAYER_HEALTH.getValue());
         levelProperty.set(GameData.PLAYER_LEVEL.getValue());
 
@@ -53,11 +58,21 @@ public class PlayerProperties {
                 if (energyProperty.intValue() >= 100) {
                     energyProperty.set(100);
 
+                    final SkillEvent event = new SkillEvent();
+
+                    event.begin();
+
                     skillActive = true;
-                    skillBurnout = selectedSkill.getDuration();
+                    timingWheel.schedule(skillTimer, selectedSkill.getDuration() + 1);
                     selectedSkill.applyEffect(source.getX() + source.getWidth() / 2,
                                               source.getY() + source.getHeight() / 2, level, this);
 
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.skill = selectedSkill.name();
+                        event.commit();
+                    }
+
                     GameData.STAT_COUNT_SKILLACTIVATION.increment();
                 }
             }
@@ -116,6 +131,15 @@ public class PlayerProperties {
         }
     }
 
+    private void endBoost() {
+        experienceMultiplier = EXP_RATE;
+    }
+
+    private void endSkill() {
+        energyProperty.set(0);
+        skillActive = false;
+    }
+
     public IntegerProperty getArmorProperty() {
         return armorProperty;
     }
@@ -149,27 +173,17 @@ public class PlayerProperties {
     }
 
     public void setTemporaryExperienceBoost(int multiplier, int burnout) {
-        boostBurnout = burnout;
         experienceMultiplier = multiplier;
-        boostActive = true;
+        timingWheel.schedule(boostTimer, burnout + 1);
     }
 
     public void tick() {
         addExperience();
 
-        if (boostActive) {
-            if (--boostBurnout < 0) {
-                experienceMultiplier = EXP_RATE;
-                boostActive = false;
-            }
-        }
-
         if (skillActive) {
-            energyProperty.set(100 * skillBurnout / selectedSkill.getDuration());
-            if (--skillBurnout < 0) {
-                energyProperty.set(0);
-                skillActive = false;
-            }
+            final long remaining = skillTimer.getDeadline() - timingWheel.getTick() - 1;
+
+            energyProperty.set((int) (100 * remaining / selectedSkill.getDuration()));
         }
     }
 
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Monotonic count, safe to increment from parallel update chunks.
+ */
+public final class Counter extends Metric {
+
+    private final LongAdder adder = new LongAdder();
+
+    Counter(String name, String help) {
+        super(name, help);
+    }
+
+    public void add(long amount) {
+        this.adder.add(amount);
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @Override
+    public long getValue() {
+        return this.adder.sum();
+    }
+
+    public void increment() {
+        this.adder.increment();
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.metrics;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/*
+ * Value read from game state by sample() on the thread ticking the level, readers on other
+ * threads only ever see the last sampled value.
+ */
+public final class Gauge extends Metric {
+
+    private volatile LongSupplier source;
+    private volatile long value = 0;
+
+    Gauge(String name, String help, LongSupplier source) {
+        super(name, help);
+
+        this.source = Objects.requireNonNull(source);
+    }
+
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    @Override
+    public long getValue() {
+        return this.value;
+    }
+
+    void sample() {
+        this.value = this.source.getAsLong();
+    }
+
+    void setSource(LongSupplier source) {
+        this.source = Objects.requireNonNull(source);
+    }
+
+}
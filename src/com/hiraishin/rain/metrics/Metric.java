@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.metrics;
+
+import java.util.Objects;
+
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+
+    protected Metric(String name, String help) {
+        this.name = Objects.requireNonNull(name);
+        this.help = Objects.requireNonNull(help);
+    }
+
+    public final String getHelp() {
+        return this.help;
+    }
+
+    public final String getName() {
+        return this.name;
+    }
+
+    public abstract String getType();
+
+    public abstract long getValue();
+
+}
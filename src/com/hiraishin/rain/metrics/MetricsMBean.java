@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.metrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/*
+ * Every metric of the registry as a read only long attribute.
+ */
+public class MetricsMBean implements DynamicMBean {
+
+    public static final String OBJECT_NAME = "com.hiraishin.rain:type=Metrics";
+
+    private final MetricsRegistry registry;
+
+    public MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static ObjectName getObjectName() {
+        try {
+            return new ObjectName(OBJECT_NAME);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        final Metric metric = this.registry.get(attribute);
+
+        if (Objects.isNull(metric)) {
+            throw new AttributeNotFoundException(attribute);
+        }
+
+        return metric.getValue();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        final AttributeList list = new AttributeList();
+
+        for (String name : attributes) {
+            final Metric metric = this.registry.get(name);
+
+            if (Objects.nonNull(metric)) {
+                list.add(new Attribute(name, metric.getValue()));
+            }
+        }
+
+        return list;
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        final Collection<Metric> metrics = this.registry.getMetrics();
+        final MBeanAttributeInfo attributes[] = new MBeanAttributeInfo[metrics.size()];
+
+        int i = 0;
+        for (Metric m : metrics) {
+            if (i == attributes.length) {
+                break;
+            }
+
+            attributes[i++] = new MBeanAttributeInfo(m.getName(), "long", m.getHelp(), true,
+                                                     false, false);
+        }
+
+        return new MBeanInfo(getClass().getName(), "Rain engine metrics",
+                             Arrays.copyOf(attributes, i), null, null, null);
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature)
+            throws MBeanException, ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read only!");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/*
+ * Named counters and gauges of the running game. Counting is always on, gauges are only sampled
+ * once the registry is enabled, which is what exporting it does.
+ */
+public enum MetricsRegistry {
+
+    INSTANCE;
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    private volatile boolean enabled = false;
+
+    public Counter counter(String name, String help) {
+        final Metric metric = this.metrics.computeIfAbsent(name, key -> new Counter(key, help));
+
+        if (!(metric instanceof Counter)) {
+            throw new IllegalArgumentException("Metric " + name + " is not a counter!");
+        }
+
+        return (Counter) metric;
+    }
+
+    /*
+     * Registers a gauge or points an existing one at a new source.
+     */
+    public Gauge gauge(String name, String help, LongSupplier source) {
+        final Metric metric = this.metrics.computeIfAbsent(name,
+                                                           key -> new Gauge(key, help, source));
+
+        if (!(metric instanceof Gauge)) {
+            throw new IllegalArgumentException("Metric " + name + " is not a gauge!");
+        }
+
+        ((Gauge) metric).setSource(source);
+        return (Gauge) metric;
+    }
+
+    public Metric get(String name) {
+        return this.metrics.get(name);
+    }
+
+    public Collection<Metric> getMetrics() {
+        return this.metrics.values();
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void sample() {
+        if (this.enabled) {
+            for (Metric m : this.metrics.values()) {
+                if (m instanceof Gauge) {
+                    ((Gauge) m).sample();
+                }
+            }
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /*
+     * Prometheus text exposition format, version 0.0.4.
+     */
+    public void write(Writer writer) throws IOException {
+        for (Metric m : this.metrics.values()) {
+            writer.write("# HELP " + m.getName() + " " + m.getHelp() + "\n");
+            writer.write("# TYPE " + m.getName() + " " + m.getType() + "\n");
+            writer.write(m.getName() + " " + m.getValue() + "\n");
+        }
+    }
+
+}
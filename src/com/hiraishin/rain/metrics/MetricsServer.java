@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/*
+ * Exports the registry as an MBean and as plain text on http://localhost:<port>/metrics. The
+ * socket is bound to the loopback address only.
+ */
+public class MetricsServer implements Closeable {
+
+    public static final String PATH = "/metrics";
+
+    private final MetricsRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public MetricsServer(MetricsRegistry registry, int port) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                                              port), 0);
+
+        this.server.createContext(PATH, this::handle);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "Metrics Server");
+
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(this.executor);
+
+        try {
+            final MBeanServer mbeans = ManagementFactory.getPlatformMBeanServer();
+
+            if (!mbeans.isRegistered(MetricsMBean.getObjectName())) {
+                mbeans.registerMBean(new MetricsMBean(registry), MetricsMBean.getObjectName());
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+
+        this.registry.setEnabled(true);
+        this.server.start();
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdown();
+        this.registry.setEnabled(false);
+
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .unregisterMBean(MetricsMBean.getObjectName());
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            final StringWriter writer = new StringWriter();
+            this.registry.write(writer);
+
+            final byte body[] = writer.toString().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.util;
+
+import java.util.Arrays;
+
+/*
+ * Frame pacing over the last WINDOW_SIZE frame intervals, fed with pulse timestamps. A frame
+ * that took longer than one and a half refresh periods missed its vsync, every whole period
+ * beyond the first counts as a dropped frame.
+ */
+public class FramePacingAnalyzer {
+
+    public static final int WINDOW_SIZE = 240;
+    public static final long DEFAULT_REFRESH_NANOS = 1_000_000_000L / 60;
+
+    private final long refreshNanos;
+    private final long intervals[] = new long[WINDOW_SIZE];
+    private final long sorted[] = new long[WINDOW_SIZE];
+
+    private int index = 0;
+    private int size = 0;
+    private boolean sortedDirty = false;
+    private long lastFrameTime = 0;
+    private long lastInterval = 0;
+
+    private long frames = 0;
+    private long missedVsyncs = 0;
+    private long droppedFrames = 0;
+    private long longestHitch = 0;
+
+    public FramePacingAnalyzer() {
+        this(DEFAULT_REFRESH_NANOS);
+    }
+
+    public FramePacingAnalyzer(long refreshNanos) {
+        if (refreshNanos <= 0) {
+            throw new IllegalArgumentException("Refresh period has to be positive!");
+        }
+
+        this.refreshNanos = refreshNanos;
+    }
+
+    /*
+     * Frames per second over the window, as frames divided by the time they took.
+     */
+    public double getAverageFPS() {
+        long total = 0;
+        for (int i = 0; i < this.size; i++) {
+            total += this.intervals[i];
+        }
+
+        return (total > 0) ? this.size * 1_000_000_000D / total : 0;
+    }
+
+    public long getDroppedFrames() {
+        return this.droppedFrames;
+    }
+
+    public long getFrames() {
+        return this.frames;
+    }
+
+    /*
+     * Standard deviation of the frame interval over the window.
+     */
+    public long getJitter() {
+        if (this.size < 2) {
+            return 0;
+        }
+
+        double mean = 0;
+        for (int i = 0; i < this.size; i++) {
+            mean += this.intervals[i];
+        }
+        mean /= this.size;
+
+        double variance = 0;
+        for (int i = 0; i < this.size; i++) {
+            variance += (this.intervals[i] - mean) * (this.intervals[i] - mean);
+        }
+
+        return (long) Math.sqrt(variance / (this.size - 1));
+    }
+
+    public long getLastInterval() {
+        return this.lastInterval;
+    }
+
+    public long getLongestHitch() {
+        return this.longestHitch;
+    }
+
+    public long getMissedVsyncs() {
+        return this.missedVsyncs;
+    }
+
+    /*
+     * Nearest rank percentile of the frame interval over the window.
+     */
+    public long getPercentile(double percentile) {
+        if (this.size == 0) {
+            return 0;
+        }
+
+        if (this.sortedDirty) {
+            System.arraycopy(this.intervals, 0, this.sorted, 0, this.size);
+            Arrays.sort(this.sorted, 0, this.size);
+
+            this.sortedDirty = false;
+        }
+
+        final int rank = (int) Math.ceil(this.size * percentile / 100);
+        return this.sorted[Math.min(this.size, Math.max(1, rank)) - 1];
+    }
+
+    public long getRefreshNanos() {
+        return this.refreshNanos;
+    }
+
+    public boolean isLastFrameMissed() {
+        return this.lastInterval * 2 > this.refreshNanos * 3;
+    }
+
+    public void reset() {
+        this.index = 0;
+        this.size = 0;
+        this.lastFrameTime = 0;
+        this.lastInterval = 0;
+
+        this.frames = 0;
+        this.missedVsyncs = 0;
+        this.droppedFrames = 0;
+        this.longestHitch = 0;
+    }
+
+    public void sample(long now) {
+        if (this.lastFrameTime > 0) {
+            final long interval = now - this.lastFrameTime;
+
+            this.intervals[this.index] = interval;
+            this.index = (this.index + 1) % WINDOW_SIZE;
+            this.size = Math.min(this.size + 1, WINDOW_SIZE);
+            this.sortedDirty = true;
+
+            this.lastInterval = interval;
+            this.frames++;
+            this.longestHitch = Math.max(this.longestHitch, interval);
+
+            if (isLastFrameMissed()) {
+                this.missedVsyncs++;
+                this.droppedFrames += Math.max(1, (interval + this.refreshNanos / 2) /
+                        this.refreshNanos - 1);
+            }
+        }
+
+        this.lastFrameTime = now;
+    }
+
+}
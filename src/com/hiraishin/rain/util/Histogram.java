@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.util;
+
+import java.util.Arrays;
+
+/*
+ * Log-bucketed histogram of non negative longs. Every power of two is split into SUB_BUCKETS
+ * buckets, so any reported percentile is within a quarter of the true value, and recording never
+ * allocates.
+ */
+public class Histogram {
+
+    public static final int SUB_BUCKET_BITS = 2;
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long counts[] = new long[Long.SIZE * SUB_BUCKETS];
+
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    private static int toBucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long toUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    public void clear() {
+        Arrays.fill(this.counts, 0);
+
+        this.count = 0;
+        this.sum = 0;
+        this.max = 0;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    public long getMean() {
+        return (this.count > 0) ? this.sum / this.count : 0;
+    }
+
+    /*
+     * Upper bound of the bucket holding the given percentile, capped by the largest value seen.
+     */
+    public long getPercentile(double percentile) {
+        if (this.count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(this.count * percentile / 100));
+
+        long seen = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            seen += this.counts[i];
+
+            if (seen >= rank) {
+                return Math.min(toUpperBound(i), this.max);
+            }
+        }
+
+        return this.max;
+    }
+
+    public void record(long value) {
+        final long clamped = Math.max(0, value);
+
+        this.counts[toBucket(clamped)]++;
+        this.count++;
+        this.sum += clamped;
+        this.max = Math.max(this.max, clamped);
+    }
+
+}
@@ -8,9 +8,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import javafx.scene.image.Image;
 
@@ -25,6 +27,7 @@ public enum ImageLoader {
     private String prefix = "";
     private String suffix = "";
     private boolean enableExternalSources = false;
+    private boolean headless = false;
 
     public void setCommonPrefix(String prefix) {
         this.prefix = Objects.requireNonNull(prefix);
@@ -42,10 +45,30 @@ public enum ImageLoader {
         return new FileInputStream(new File(this.prefix + token + this.suffix));
     }
 
+    public int getCacheSize() {
+        return this.buffer.size();
+    }
+
+    public Set<String> getTokens() {
+        return Collections.unmodifiableSet(this.buffer.keySet());
+    }
+
+    public boolean isHeadless() {
+        return this.headless;
+    }
+
     public void preferExternalSources(boolean prefer) {
         this.enableExternalSources = prefer;
     }
 
+    /*
+     * Headless loader decodes nothing and hands out null images, it has to be enabled before any
+     * class holding a static image is loaded.
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
     public void load(String token) {
         load(token, -1, -1, false, false);
     }
@@ -55,6 +78,10 @@ public enum ImageLoader {
     }
 
     public void load(String token, int width, int height, boolean keepAspectRatio, boolean smooth) {
+        if (this.headless) {
+            return;
+        }
+
         InputStream stream;
 
         if (this.enableExternalSources && EXTERNAL_IMAGE_ENABLE) {
@@ -78,7 +105,7 @@ public enum ImageLoader {
     }
 
     public Image getImage(String token) {
-        if (!this.buffer.containsKey(token)) {
+        if (!this.headless && !this.buffer.containsKey(token)) {
             load(token);
         }
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.util;
+
+import java.util.Objects;
+
+/*
+ * Hierarchical timing wheel counting in ticks. Timers sit in the slot of the wheel matching how
+ * far away their deadline is and move down a wheel each time the one below completes a turn, so
+ * advancing costs the same no matter how many timers wait.
+ */
+public class TimingWheel {
+
+    public static final int SLOT_BITS = 6;
+    public static final int SLOTS = 1 << SLOT_BITS;
+    public static final int WHEELS = 4;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * WHEELS)) - 1;
+
+    private final WheelTimer heads[] = new WheelTimer[SLOTS * WHEELS];
+    private final WheelTimer tails[] = new WheelTimer[SLOTS * WHEELS];
+
+    private long tick = 0;
+    private int size = 0;
+
+    /*
+     * Moves to the next tick and fires every timer due on it. Timers may reschedule themselves
+     * or others from their action.
+     */
+    public void advance() {
+        this.tick++;
+
+        for (int wheel = WHEELS - 1; wheel > 0; wheel--) {
+            if ((this.tick & ((1L << (SLOT_BITS * wheel)) - 1)) == 0) {
+                final int slot = wheel * SLOTS +
+                        (int) ((this.tick >>> (SLOT_BITS * wheel)) & SLOT_MASK);
+
+                for (WheelTimer t = this.heads[slot]; Objects.nonNull(t); t = this.heads[slot]) {
+                    unlink(t);
+                    link(t);
+                }
+            }
+        }
+
+        final int slot = (int) (this.tick & SLOT_MASK);
+
+        for (WheelTimer t = this.heads[slot]; Objects.nonNull(t); t = this.heads[slot]) {
+            unlink(t);
+            this.size--;
+
+            t.fire();
+        }
+    }
+
+    public void cancel(WheelTimer timer) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+            this.size--;
+        }
+    }
+
+    /*
+     * Drops every timer without firing it.
+     */
+    public void clear() {
+        for (int i = 0; i < this.heads.length; i++) {
+            while (Objects.nonNull(this.heads[i])) {
+                unlink(this.heads[i]);
+            }
+        }
+
+        this.size = 0;
+    }
+
+    public long getTick() {
+        return this.tick;
+    }
+
+    private void link(WheelTimer timer) {
+        final long delay = Math.min(timer.deadline - this.tick, MAX_DELAY);
+
+        int wheel = 0;
+        while (delay >= 1L << (SLOT_BITS * (wheel + 1))) {
+            wheel++;
+        }
+
+        final long due = this.tick + delay;
+        final int slot = wheel * SLOTS + (int) ((due >>> (SLOT_BITS * wheel)) & SLOT_MASK);
+
+        timer.slot = slot;
+        timer.next = null;
+        timer.previous = this.tails[slot];
+
+        if (Objects.nonNull(this.tails[slot])) {
+            this.tails[slot].next = timer;
+        } else {
+            this.heads[slot] = timer;
+        }
+
+        this.tails[slot] = timer;
+    }
+
+    /*
+     * Schedules the timer to fire in the given number of ticks, at least one, replacing any
+     * pending deadline it had.
+     */
+    public void schedule(WheelTimer timer, long delay) {
+        cancel(timer);
+
+        timer.deadline = this.tick + Math.max(1, delay);
+        link(timer);
+
+        this.size++;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private void unlink(WheelTimer timer) {
+        final int slot = timer.slot;
+
+        if (Objects.nonNull(timer.previous)) {
+            timer.previous.next = timer.next;
+        } else {
+            this.heads[slot] = timer.next;
+        }
+
+        if (Objects.nonNull(timer.next)) {
+            timer.next.previous = timer.previous;
+        } else {
+            this.tails[slot] = timer.previous;
+        }
+
+        timer.previous = null;
+        timer.next = null;
+        timer.slot = -1;
+    }
+
+}
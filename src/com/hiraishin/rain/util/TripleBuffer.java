@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * Lock-free handoff of the latest value from one producer to one consumer. The producer fills
+ * the back slot and publishes it, the consumer takes the latest published slot, neither ever
+ * waits for the other and a slot is never touched by both at once.
+ */
+public final class TripleBuffer<T> {
+
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final Object slots[] = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    private int back = 0;
+    private int front = 2;
+
+    public TripleBuffer(Supplier<T> supplier) {
+        for (int i = 0; i < this.slots.length; i++) {
+            this.slots[i] = supplier.get();
+        }
+    }
+
+    /*
+     * Latest published value or null when nothing was published since the last call, consumer
+     * side only.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((this.middle.get() & FRESH) == 0) {
+            return null;
+        }
+
+        this.front = this.middle.getAndSet(this.front) & INDEX_MASK;
+
+        return (T) this.slots[this.front];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getBack() {
+        return (T) this.slots[this.back];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getFront() {
+        return (T) this.slots[this.front];
+    }
+
+    /*
+     * Publishes the back slot, returns true when the previously published value was never
+     * acquired and its slot became the new back slot.
+     */
+    public boolean publish() {
+        final int previous = this.middle.getAndSet(this.back | FRESH);
+
+        this.back = previous & INDEX_MASK;
+
+        return (previous & FRESH) != 0;
+    }
+
+}
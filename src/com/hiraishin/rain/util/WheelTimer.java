@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2017 - 2018 Hiraishin Software. All Rights Reserved.
+ */
+
+package com.hiraishin.rain.util;
+
+import java.util.Objects;
+
+/*
+ * Node of a TimingWheel slot list, owners keep one per timed behavior and reschedule it.
+ */
+public final class WheelTimer {
+
+    private final Runnable action;
+
+    WheelTimer previous;
+    WheelTimer next;
+    long deadline;
+    int slot = -1;
+
+    public WheelTimer(Runnable action) {
+        this.action = Objects.requireNonNull(action);
+    }
+
+    void fire() {
+        this.action.run();
+    }
+
+    public long getDeadline() {
+        return this.deadline;
+    }
+
+    public boolean isScheduled() {
+        return this.slot >= 0;
+    }
+
+}